@@ -34,6 +34,7 @@ export type AuthUser = {
   role: string;
   admin: boolean;
   authProvider: 'local' | 'auth0';
+  updatedAt: string | null;
 };
 
 type AuthResponse = {
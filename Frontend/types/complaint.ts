@@ -19,6 +19,7 @@ export interface ComplaintReporter {
   role: string;
   admin: boolean;
   authProvider: 'local' | 'auth0';
+  updatedAt: string | null;
 }
 
 export interface ComplaintResponse {
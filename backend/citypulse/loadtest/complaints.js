@@ -0,0 +1,90 @@
+// Citizen traffic mix for comparing the platform-thread and virtual-thread modes.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=3m \
+//       --summary-export=loadtest/results-platform.json loadtest/complaints.js
+//
+// Each virtual user registers once, then loops over: list own complaints (60%), map clusters (25%) and
+// submit a complaint (15%). Run it against the same database and hardware for both modes.
+//
+// Start the backend with --app.ratelimit.enabled=false. All virtual users register from one IP and each submits
+// about 45 complaints a minute, far past the default auth (per IP) and complaint (per user) limits, so with rate
+// limiting on nearly every request is answered with 429 and the http_req_failed threshold fails.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { FormData } from 'https://jslib.k6.io/formdata/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    citizens: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: DURATION, target: VUS },
+        { duration: '15s', target: 0 },
+      ],
+      gracefulRampDown: '15s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+let token = null;
+
+function register() {
+  const email = `load-${__VU}-${Date.now()}@example.com`;
+  const res = http.post(`${BASE_URL}/api/auth/register`,
+    JSON.stringify({ username: `load${__VU}`, email, password: 'load-test-password' }),
+    { headers: { 'Content-Type': 'application/json' }, tags: { name: 'register' } });
+  check(res, { 'registered': (r) => r.status === 200 });
+  return res.json('token');
+}
+
+function jitter() {
+  return (Math.random() - 0.5) * 0.1;
+}
+
+export default function () {
+  if (!token) {
+    token = register();
+  }
+  const auth = { headers: { Authorization: `Bearer ${token}` } };
+  const roll = Math.random();
+
+  if (roll < 0.60) {
+    const res = http.get(`${BASE_URL}/api/complaints?size=10`, { ...auth, tags: { name: 'list' } });
+    check(res, { 'list ok': (r) => r.status === 200 });
+  } else if (roll < 0.85) {
+    const res = http.get(`${BASE_URL}/api/complaints/clusters?bbox=12.80,77.45,13.10,77.75&zoom=12`,
+      { ...auth, tags: { name: 'clusters' } });
+    check(res, { 'clusters ok': (r) => r.status === 200 });
+  } else {
+    const form = new FormData();
+    form.append('category', 'POTHOLE');
+    form.append('severity', 'MEDIUM');
+    form.append('title', `Load test pothole ${__VU}-${__ITER}`);
+    form.append('description', 'Generated by loadtest/complaints.js');
+    form.append('contactName', 'Load Test');
+    form.append('contactPhone', '0000000000');
+    form.append('contactEmail', 'load@example.com');
+    form.append('latitude', String(12.95 + jitter()));
+    form.append('longitude', String(77.60 + jitter()));
+    const res = http.post(`${BASE_URL}/api/complaints`, form.body(), {
+      headers: {
+        ...auth.headers,
+        'Content-Type': `multipart/form-data; boundary=${form.boundary}`,
+        'Idempotency-Key': `${__VU}-${__ITER}-${Date.now()}`,
+      },
+      tags: { name: 'submit' },
+    });
+    check(res, { 'submit ok': (r) => r.status === 201 });
+  }
+  sleep(0.2);
+}
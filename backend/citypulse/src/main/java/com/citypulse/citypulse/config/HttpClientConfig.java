@@ -0,0 +1,37 @@
+package com.citypulse.citypulse.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Shared client for outbound calls. It keeps connections alive and pools them per host, so repeated calls to the
+     * same provider skip the TCP and TLS handshakes.
+     */
+    @Bean
+    public HttpClient outboundHttpClient(@Value("${app.http.connect-timeout:PT2S}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    @Bean
+    public RestClient auth0RestClient(
+            RestClient.Builder builder,
+            @Qualifier("outboundHttpClient") HttpClient httpClient,
+            @Value("${app.http.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${auth0.base-url:https://${auth0.domain}}") String baseUrl) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return builder.baseUrl(baseUrl).requestFactory(requestFactory).build();
+    }
+}
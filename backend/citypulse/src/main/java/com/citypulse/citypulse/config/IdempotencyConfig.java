@@ -0,0 +1,47 @@
+package com.citypulse.citypulse.config;
+
+import com.citypulse.citypulse.idempotency.IdempotencyFilter;
+import com.citypulse.citypulse.idempotency.IdempotencyStore;
+import com.citypulse.citypulse.idempotency.InMemoryIdempotencyStore;
+import com.citypulse.citypulse.idempotency.JdbcIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class IdempotencyConfig {
+
+    /**
+     * Default store; keys are only seen by the instance that handled the original request.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(@Value("${app.idempotency.max-keys:100000}") long maxKeys) {
+        return new InMemoryIdempotencyStore(maxKeys);
+    }
+
+    /**
+     * Store for clustered deployments, shared through the {@code idempotency_keys} table.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc")
+    public IdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcIdempotencyStore(jdbcTemplate);
+    }
+
+    // Registered as a plain servlet filter, after the security chain, so the caller is known but the multipart body
+    // has not been parsed yet.
+    @Bean
+    public IdempotencyFilter idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${app.idempotency.lock-ttl:PT1M}") Duration lockTtl,
+            @Value("${app.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        return new IdempotencyFilter(idempotencyStore, objectMapper, ttl, lockTtl, waitTimeout);
+    }
+}
@@ -0,0 +1,79 @@
+package com.citypulse.citypulse.config;
+
+import com.citypulse.citypulse.ratelimit.InMemoryRateLimitStore;
+import com.citypulse.citypulse.ratelimit.JdbcRateLimitStore;
+import com.citypulse.citypulse.ratelimit.RateLimitFilter;
+import com.citypulse.citypulse.ratelimit.RateLimitPolicy;
+import com.citypulse.citypulse.ratelimit.RateLimitStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Default store; each instance enforces the limits on its own share of the traffic.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.ratelimit.store", havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore(
+            @Value("${app.ratelimit.max-keys:100000}") long maxKeys,
+            @Value("${app.ratelimit.complaints.period:PT1M}") Duration complaintsPeriod,
+            @Value("${app.ratelimit.auth.period:PT1M}") Duration authPeriod) {
+        // A bucket idle for its policy's whole period is full again, so evicting it loses nothing.
+        Duration idleTimeout = complaintsPeriod.compareTo(authPeriod) > 0 ? complaintsPeriod : authPeriod;
+        return new InMemoryRateLimitStore(maxKeys, idleTimeout);
+    }
+
+    /**
+     * Store for clustered deployments, shared through the {@code rate_limit_buckets} table.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.ratelimit.store", havingValue = "jdbc")
+    public RateLimitStore jdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        return new JdbcRateLimitStore(jdbcTemplate);
+    }
+
+    // Added to the security filter chain by SecurityConfig, right after JWT authentication.
+    @Bean
+    public RateLimitFilter rateLimitFilter(
+            RateLimitStore rateLimitStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.ratelimit.enabled:true}") boolean enabled,
+            @Value("${app.ratelimit.complaints.capacity:10}") int complaintsCapacity,
+            @Value("${app.ratelimit.complaints.period:PT1M}") Duration complaintsPeriod,
+            @Value("${app.ratelimit.auth.capacity:20}") int authCapacity,
+            @Value("${app.ratelimit.auth.period:PT1M}") Duration authPeriod) {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        List<RateLimitFilter.Route> routes = new ArrayList<>();
+        if (enabled) {
+            routes.add(new RateLimitFilter.Route(
+                    paths.matcher(HttpMethod.POST, "/api/complaints"),
+                    new RateLimitPolicy("complaints", complaintsCapacity, complaintsPeriod, RateLimitPolicy.Scope.USER)));
+            routes.add(new RateLimitFilter.Route(
+                    paths.matcher("/api/auth/**"),
+                    new RateLimitPolicy("auth", authCapacity, authPeriod, RateLimitPolicy.Scope.IP)));
+        }
+        return new RateLimitFilter(rateLimitStore, routes, objectMapper, meterRegistry);
+    }
+
+    // Keeps Spring Boot from also registering the filter with the servlet container.
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
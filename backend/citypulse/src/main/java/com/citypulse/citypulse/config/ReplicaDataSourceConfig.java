@@ -0,0 +1,93 @@
+package com.citypulse.citypulse.config;
+
+import com.citypulse.citypulse.datasource.ConnectionLimiters;
+import com.citypulse.citypulse.datasource.ReadYourWritesTracker;
+import com.citypulse.citypulse.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the single auto-configured pool with a primary and a replica pool when
+ * {@code app.datasource.replica.url} is set. Both pools are registered as beans, so each reports its own
+ * {@code hikaricp.*} metrics under its pool name.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties primaryProperties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replica.sticky-window:PT10S}") Duration stickyWindow,
+            @Value("${app.datasource.replica.sticky-max-users:100000}") long maxUsers) {
+        return new ReadYourWritesTracker(stickyWindow, maxUsers);
+    }
+
+    /**
+     * On virtual threads each pool is also fronted by its own limiter (see {@link VirtualThreadConfig}).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") HikariDataSource replica,
+            ReadYourWritesTracker tracker,
+            ObjectProvider<ConnectionLimiters> connectionLimiters) {
+        ConnectionLimiters limiters = connectionLimiters.getIfAvailable();
+        DataSource primaryTarget = limiters != null ? limiters.limit("primaryDataSource", primary) : primary;
+        DataSource replicaTarget = limiters != null ? limiters.limit("replicaDataSource", replica) : replica;
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryTarget, replicaTarget, tracker));
+    }
+
+    /**
+     * Hibernate otherwise holds the first connection for the whole session, which with open-in-view is the whole
+     * request; releasing it after each transaction lets every transaction be routed on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return properties -> properties.put(
+                AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,72 @@
+package com.citypulse.citypulse.config;
+
+import com.citypulse.citypulse.datasource.ConnectionLimiters;
+import com.citypulse.citypulse.diagnostics.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}, which makes Tomcat, {@code @Async} and {@code @Scheduled}
+ * run on virtual threads: the data source used by JPA and JDBC is fronted by a
+ * {@link com.citypulse.citypulse.datasource.ConnectionLimitingDataSource}, and pinned virtual threads are reported by
+ * {@link VirtualThreadPinningMonitor}. With a replica, {@link ReplicaDataSourceConfig} limits both pools itself.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public ConnectionLimiters connectionLimiters(Environment environment, MeterRegistry meterRegistry) {
+        return new ConnectionLimiters(environment, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.diagnostics.pinning.enabled", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.diagnostics.pinning.threshold:PT0.02S}") Duration threshold, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+
+    /**
+     * Takes over from the auto-configured pool so the limiter can be the primary data source while the pool stays a
+     * {@link HikariDataSource} bean of its own.
+     */
+    // Component scanning also finds this class on its own, so it repeats the outer condition.
+    @Configuration
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnExpression("'${app.datasource.replica.url:}'.isEmpty()")
+    static class SinglePoolConfig {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource pooledDataSource(DataSourceProperties properties) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            if (StringUtils.hasText(properties.getName())) {
+                dataSource.setPoolName(properties.getName());
+            }
+            return dataSource;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(
+                @Qualifier("pooledDataSource") HikariDataSource pool, ConnectionLimiters connectionLimiters) {
+            return connectionLimiters.limit("dataSource", pool);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.citypulse.citypulse.config;
+
+import com.citypulse.citypulse.security.CurrentUserArgumentResolver;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
+    private final long asyncTimeoutMs;
+
+    public WebConfig(
+            CurrentUserArgumentResolver currentUserArgumentResolver,
+            @Value("${app.transfer.timeout-ms:3600000}") long asyncTimeoutMs) {
+        this.currentUserArgumentResolver = currentUserArgumentResolver;
+        this.asyncTimeoutMs = asyncTimeoutMs;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
+
+    // Streaming exports run as async requests; the container default (30s on Tomcat) would cut them off.
+    // SSE subscriptions set their own timeout.
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+}
@@ -1,29 +1,62 @@
 package com.citypulse.citypulse.controller;
 
+import com.citypulse.citypulse.dto.BulkStatusUpdateRequest;
+import com.citypulse.citypulse.dto.BulkStatusUpdateResponse;
+import com.citypulse.citypulse.dto.ComplaintFilter;
 import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.dto.ComplaintSearchResponse;
+import com.citypulse.citypulse.dto.ComplaintStatsResponse;
+import com.citypulse.citypulse.dto.CursorPage;
+import com.citypulse.citypulse.dto.StatusEventResponse;
+import com.citypulse.citypulse.dto.StatusTransitionSla;
 import com.citypulse.citypulse.dto.StatusUpdateRequest;
 import com.citypulse.citypulse.entity.User;
 import com.citypulse.citypulse.enums.ComplaintCategory;
 import com.citypulse.citypulse.enums.ComplaintSeverity;
 import com.citypulse.citypulse.enums.ComplaintStatus;
-import com.citypulse.citypulse.security.UserPrincipal;
+import com.citypulse.citypulse.event.ComplaintEventBroadcaster;
+import com.citypulse.citypulse.event.ComplaintEventFilter;
+import com.citypulse.citypulse.geo.BoundingBox;
+import com.citypulse.citypulse.security.CurrentUser;
+import com.citypulse.citypulse.service.ComplaintHistoryService;
+import com.citypulse.citypulse.service.ComplaintSearchService;
 import com.citypulse.citypulse.service.ComplaintService;
-import com.citypulse.citypulse.service.UserService;
+import com.citypulse.citypulse.service.ComplaintStatsService;
+import com.citypulse.citypulse.transfer.ComplaintExporter;
+import com.citypulse.citypulse.transfer.ComplaintImportResult;
+import com.citypulse.citypulse.transfer.ComplaintImporter;
+import com.citypulse.citypulse.transfer.TransferFormat;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/admin/complaints")
@@ -32,26 +65,168 @@ import org.springframework.web.bind.annotation.RestController;
 public class AdminComplaintController {
 
     private final ComplaintService complaintService;
-    private final UserService userService;
+    private final ComplaintEventBroadcaster eventBroadcaster;
+    private final ComplaintStatsService complaintStatsService;
+    private final ComplaintHistoryService complaintHistoryService;
+    private final ComplaintSearchService complaintSearchService;
+    private final ComplaintExporter complaintExporter;
+    private final ComplaintImporter complaintImporter;
 
     @GetMapping
     public ResponseEntity<Page<ComplaintResponse>> listComplaints(
             @RequestParam(required = false) ComplaintStatus status,
             @RequestParam(required = false) ComplaintCategory category,
             @RequestParam(required = false) ComplaintSeverity severity,
-            @PageableDefault(size = 20) Pageable pageable) {
-        Page<ComplaintResponse> page = complaintService.getComplaintsForAdmin(status, category, severity, pageable);
-        return ResponseEntity.ok(page);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(defaultValue = "false") boolean includeDuplicates,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+        ComplaintFilter filter = new ComplaintFilter(
+                status, category, severity, createdFrom, createdTo, query, includeDuplicates);
+        // Dashboards poll this listing; an unchanged digest of the filtered set is answered with 304 before loading rows.
+        String etag = complaintService.getVersionForAdmin(filter)
+                .etag("admin", filter, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        Page<ComplaintResponse> page = complaintService.getComplaintsForAdmin(filter, pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(page);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ComplaintResponse>> listComplaintsByCursor(
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(required = false) ComplaintSeverity severity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(defaultValue = "false") boolean includeDuplicates,
+            @RequestParam("cursor") String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest webRequest) {
+        ComplaintFilter filter = new ComplaintFilter(
+                status, category, severity, createdFrom, createdTo, query, includeDuplicates);
+        String etag = complaintService.getVersionForAdmin(filter)
+                .etag("admin", filter, "cursor", cursor, size, includeTotal);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                .body(complaintService.scrollComplaintsForAdmin(filter, cursor, size, includeTotal));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ComplaintSearchResponse> searchComplaints(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(required = false) ComplaintSeverity severity,
+            @RequestParam(defaultValue = "false") boolean includeDuplicates,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(complaintSearchService.search(
+                query, status, category, severity, includeDuplicates, page, size));
+    }
+
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        return complaintSearchService.rebuildIndex()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ComplaintStatsResponse> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(complaintStatsService.getStats(days));
+    }
+
+    @GetMapping("/sla")
+    public ResponseEntity<List<StatusTransitionSla>> getTransitionSla(
+            @RequestParam(defaultValue = "SUBMITTED") ComplaintStatus from,
+            @RequestParam(defaultValue = "IN_PROGRESS") ComplaintStatus to,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(defaultValue = "30") int days) {
+        Instant since = Instant.now().minus(Math.max(days, 1), ChronoUnit.DAYS);
+        return ResponseEntity.ok(complaintHistoryService.getTransitionSla(from, to, category, since));
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<StatusEventResponse>> getComplaintHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(complaintService.getHistory(id));
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<Page<ComplaintResponse>> listComplaintsWithin(
+            @RequestParam("bbox") String bbox,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(required = false) ComplaintSeverity severity,
+            @PageableDefault(size = 100, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        ComplaintFilter filter = new ComplaintFilter(status, category, severity, null, null, null, false);
+        return ResponseEntity.ok(complaintService.getComplaintsWithin(filter, BoundingBox.parse(bbox), pageable));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<Page<ComplaintResponse>> listComplaintsNearby(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lng") double longitude,
+            @RequestParam(value = "radius", defaultValue = "1000") double radiusMeters,
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(required = false) ComplaintSeverity severity,
+            @PageableDefault(size = 100, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        ComplaintFilter filter = new ComplaintFilter(status, category, severity, null, null, null, false);
+        return ResponseEntity.ok(
+                complaintService.getComplaintsNearby(filter, latitude, longitude, radiusMeters, pageable));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) ComplaintStatus status,
+            @RequestParam(required = false) ComplaintCategory category,
+            @RequestParam(required = false) ComplaintSeverity severity,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventBroadcaster.subscribe(new ComplaintEventFilter(status, category, severity), lastEventId);
     }
 
     @PutMapping("/{id}/status")
     public ResponseEntity<ComplaintResponse> updateStatus(
             @PathVariable Long id,
             @Valid @RequestBody StatusUpdateRequest request,
-            @AuthenticationPrincipal UserPrincipal principal) {
-        User admin = userService.findByEmail(principal.getUsername());
+            @CurrentUser User admin) {
         ComplaintResponse response = complaintService.updateStatus(id, request, admin);
         return ResponseEntity.ok(response);
     }
-}
 
+    @PostMapping("/status")
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request,
+            @CurrentUser User admin) {
+        return ResponseEntity.ok(complaintService.bulkUpdateStatus(request, admin));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportComplaints(
+            @RequestParam(defaultValue = "CSV") TransferFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("complaints." + format.fileExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(out -> complaintExporter.export(format, updatedSince, out));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ComplaintImportResult> importComplaints(
+            HttpServletRequest request,
+            @CurrentUser User admin) throws IOException {
+        TransferFormat format = TransferFormat.fromMediaType(MediaType.parseMediaType(request.getContentType()));
+        return ResponseEntity.ok(complaintImporter.importComplaints(format, request.getInputStream(), admin));
+    }
+}
@@ -1,24 +1,35 @@
 package com.citypulse.citypulse.controller;
 
+import com.citypulse.citypulse.dto.ComplaintClusterResponse;
 import com.citypulse.citypulse.dto.ComplaintRequest;
 import com.citypulse.citypulse.dto.ComplaintResponse;
-import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.dto.CursorPage;
+import com.citypulse.citypulse.dto.StatusEventResponse;
 import com.citypulse.citypulse.entity.User;
 import com.citypulse.citypulse.enums.ComplaintCategory;
 import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ImageVariant;
+import com.citypulse.citypulse.geo.BoundingBox;
+import com.citypulse.citypulse.security.CurrentUser;
 import com.citypulse.citypulse.security.UserPrincipal;
+import com.citypulse.citypulse.service.ComplaintClusterService;
+import com.citypulse.citypulse.service.ComplaintImageService;
+import com.citypulse.citypulse.service.ComplaintResponseCache;
 import com.citypulse.citypulse.service.ComplaintService;
-import com.citypulse.citypulse.service.UserService;
+import com.citypulse.citypulse.storage.ComplaintImage;
 import jakarta.validation.constraints.NotBlank;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -28,6 +39,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -35,12 +47,16 @@ import org.springframework.web.multipart.MultipartFile;
 @RequiredArgsConstructor
 public class ComplaintController {
 
+    private static final Duration IMAGE_CACHE_DURATION = Duration.ofDays(365);
+
     private final ComplaintService complaintService;
-    private final UserService userService;
+    private final ComplaintImageService complaintImageService;
+    private final ComplaintClusterService complaintClusterService;
+    private final ComplaintResponseCache complaintResponseCache;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ComplaintResponse> submitComplaint(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User reporter,
             @RequestParam("category") @NotBlank String category,
             @RequestParam("severity") @NotBlank String severity,
             @RequestParam("title") String title,
@@ -78,53 +94,112 @@ public class ComplaintController {
                 latitude,
                 longitude);
 
-        User reporter = userService.findByEmail(principal.getUsername());
         ComplaintResponse response = complaintService.submitComplaint(reporter, request, imageFile);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.created(URI.create("/api/complaints/" + response.id()))
+                .eTag(ComplaintResponseCache.etag(response))
+                .body(response);
     }
 
+    // Listings carry a digest of the user's complaints as their ETag; an unchanged digest is answered with 304 before
+    // any row is loaded or mapped.
     @GetMapping
     public ResponseEntity<Page<ComplaintResponse>> getMyComplaints(
             @AuthenticationPrincipal UserPrincipal principal,
-            @PageableDefault(size = 10) Pageable pageable) {
-        User user = userService.findByEmail(principal.getUsername());
-        Page<ComplaintResponse> page = complaintService.getComplaintsForUser(user.getId(), pageable);
-        return ResponseEntity.ok(page);
+            @PageableDefault(size = 10) Pageable pageable,
+            WebRequest webRequest) {
+        String etag = complaintService.getVersionForUser(principal.getId())
+                .etag("u" + principal.getId(), pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        Page<ComplaintResponse> page = complaintService.getComplaintsForUser(principal.getId(), pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(page);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ComplaintResponse>> getMyComplaintsByCursor(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam("cursor") String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest webRequest) {
+        String etag = complaintService.getVersionForUser(principal.getId())
+                .etag("u" + principal.getId(), "cursor", cursor, size, includeTotal);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                .body(complaintService.scrollComplaintsForUser(principal.getId(), cursor, size, includeTotal));
+    }
+
+    @GetMapping("/clusters")
+    public ResponseEntity<ComplaintClusterResponse> getClusters(
+            @RequestParam("bbox") String bbox,
+            @RequestParam("zoom") int zoom) {
+        return ResponseEntity.ok(complaintClusterService.getClusters(BoundingBox.parse(bbox), zoom));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ComplaintResponse> getComplaint(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable Long id,
+            WebRequest webRequest) {
+        ComplaintResponse response = complaintResponseCache.getForUser(id, principal.getId());
+        String etag = ComplaintResponseCache.etag(response);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(response);
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<StatusEventResponse>> getComplaintHistory(
             @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long id) {
-        User user = userService.findByEmail(principal.getUsername());
-        ComplaintResponse response = complaintService.getComplaintForUser(id, user.getId());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(complaintService.getHistoryForUser(id, principal.getId()));
     }
 
     @GetMapping("/{id}/image")
-    public ResponseEntity<Resource> getComplaintImage(@PathVariable Long id) {
-        Optional<Complaint> complaintOptional = complaintService.getComplaintWithImage(id);
-        if (complaintOptional.isEmpty()) {
-            return ResponseEntity.notFound().build();
+    public ResponseEntity<Resource> getComplaintImage(
+            @PathVariable Long id,
+            @RequestParam(value = "size", required = false) String size) {
+        ImageVariant variant = null;
+        if (size != null && !size.isBlank() && !"original".equalsIgnoreCase(size.trim())) {
+            try {
+                variant = ImageVariant.valueOf(size.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Invalid image size: " + size);
+            }
         }
-        Complaint complaint = complaintOptional.get();
-        byte[] imageBytes = complaint.getImage();
-        if (imageBytes == null || imageBytes.length == 0) {
+        Optional<ComplaintImage> imageOptional = complaintImageService.getComplaintImage(id, variant);
+        if (imageOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        ByteArrayResource resource = new ByteArrayResource(imageBytes);
+        ComplaintImage image = imageOptional.get();
         MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM;
-        if (complaint.getImageContentType() != null) {
+        if (image.contentType() != null) {
             try {
-                mediaType = MediaType.parseMediaType(complaint.getImageContentType());
+                mediaType = MediaType.parseMediaType(image.contentType());
             } catch (IllegalArgumentException ex) {
                 // If content type is invalid, use default
             }
         }
-        return ResponseEntity.ok()
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
                 .contentType(mediaType)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"complaint-" + id + ".jpg\"")
-                .body(resource);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"complaint-" + id + ".jpg\"");
+        if (image.etag() != null) {
+            // Stored images are content-addressed, so the key is a strong validator and the bytes never change.
+            // Spring answers If-None-Match with 304 without reading the file and serves Range requests as 206.
+            builder.eTag(image.etag())
+                    .cacheControl(image.immutable()
+                            ? CacheControl.maxAge(IMAGE_CACHE_DURATION).cachePublic().immutable()
+                            : CacheControl.noCache());
+            try {
+                builder.lastModified(image.resource().lastModified());
+            } catch (IOException ex) {
+                // Last-Modified is optional when the ETag is present
+            }
+        }
+        return builder.body(image.resource());
     }
 }
-
@@ -3,12 +3,12 @@ package com.citypulse.citypulse.controller;
 import com.citypulse.citypulse.dto.UserDto;
 import com.citypulse.citypulse.entity.User;
 import com.citypulse.citypulse.mapper.UserMapper;
-import com.citypulse.citypulse.security.UserPrincipal;
+import com.citypulse.citypulse.security.CurrentUser;
 import com.citypulse.citypulse.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,13 +17,21 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class UserController {
 
-    private final UserService userService;
     private final UserMapper userMapper;
+    private final UserService userService;
 
     @GetMapping("/me")
-    public ResponseEntity<UserDto> currentUser(@AuthenticationPrincipal UserPrincipal principal) {
-        User user = userService.findByEmail(principal.getUsername());
+    public ResponseEntity<UserDto> currentUser(@CurrentUser User user) {
         return ResponseEntity.ok(userMapper.toDto(user));
     }
-}
 
+    /**
+     * Signs the user out everywhere by invalidating every token issued to them so far, including the one used for
+     * this request.
+     */
+    @PostMapping("/me/logout-all")
+    public ResponseEntity<Void> logoutEverywhere(@CurrentUser User user) {
+        userService.revokeTokens(user.getId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.citypulse.citypulse.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.core.env.Environment;
+
+/**
+ * Fronts connection pools with a {@link ConnectionLimitingDataSource} where they are handed to JPA and JDBC. The pool
+ * beans themselves stay plain {@link HikariDataSource}s, so lookups and metrics by pool type keep working.
+ */
+public class ConnectionLimiters {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionLimiters(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Wraps {@code pool}, defaulting the concurrency and wait to the pool's size and connection timeout, and exports
+     * the limiter's gauges tagged with {@code name}.
+     */
+    public DataSource limit(String name, HikariDataSource pool) {
+        int maxConcurrency = environment.getProperty(
+                "app.datasource.max-concurrency", Integer.class, pool.getMaximumPoolSize());
+        Duration acquireTimeout = environment.getProperty(
+                "app.datasource.acquire-timeout", Duration.class, Duration.ofMillis(pool.getConnectionTimeout()));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(pool, maxConcurrency, acquireTimeout);
+        Gauge.builder("citypulse.datasource.limiter.available", limiter, ConnectionLimitingDataSource::getAvailablePermits)
+                .description("Connection permits not currently in use")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("citypulse.datasource.limiter.waiting", limiter, ConnectionLimitingDataSource::getQueueLength)
+                .description("Threads waiting for a connection permit")
+                .tag("name", name)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
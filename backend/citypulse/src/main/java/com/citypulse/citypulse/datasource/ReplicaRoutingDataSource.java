@@ -0,0 +1,77 @@
+package com.citypulse.citypulse.datasource;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary. A user who
+ * committed a write within the stickiness window reads from the primary, so they see their own changes despite
+ * replication lag.
+ *
+ * <p>The routing decision uses the transaction's read-only flag, which is only set after the transaction manager has
+ * asked for a connection; wrap this in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so
+ * the physical connection is fetched on first use.
+ *
+ * <p>Lookups that decide whether a request is authenticated run before there is a user to be sticky for, so they use
+ * {@link #onPrimary(Supplier)} instead.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs {@code action} with every connection it opens routed to the primary, read-only or not. Connections already
+     * bound to an enclosing transaction are not rerouted. Without a replica configured this simply runs the action.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = ReadYourWritesTracker.currentUserId();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (FORCE_PRIMARY.get() != null) {
+                return Route.PRIMARY;
+            }
+            return userId != null && tracker.wroteRecently(userId) ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tracker.recordWrite(userId);
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,19 @@
+package com.citypulse.citypulse.dto;
+
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record BulkStatusUpdateRequest(
+        @NotEmpty(message = "At least one complaint id is required")
+        @Size(max = 1000, message = "At most 1000 complaints can be updated at once")
+        List<@NotNull Long> ids,
+
+        @NotNull(message = "Status is required")
+        ComplaintStatus status,
+
+        @Size(max = 500, message = "Notes must be 500 characters or less")
+        String notes) {
+}
@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.dto;
+
+import java.util.List;
+
+public record BulkStatusUpdateResponse(int updated, int unchanged, int notFound, List<BulkStatusUpdateResult> results) {
+}
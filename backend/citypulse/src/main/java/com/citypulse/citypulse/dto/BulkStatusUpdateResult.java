@@ -0,0 +1,7 @@
+package com.citypulse.citypulse.dto;
+
+import com.citypulse.citypulse.enums.BulkUpdateOutcome;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+
+public record BulkStatusUpdateResult(Long id, BulkUpdateOutcome outcome, ComplaintStatus previousStatus) {
+}
@@ -0,0 +1,14 @@
+package com.citypulse.citypulse.dto;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import java.util.Map;
+
+public record ComplaintCluster(
+        String cell,
+        double latitude,
+        double longitude,
+        long count,
+        Map<ComplaintCategory, Long> categories,
+        Map<ComplaintSeverity, Long> severities) {
+}
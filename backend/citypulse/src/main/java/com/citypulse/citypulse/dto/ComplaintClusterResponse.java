@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.dto;
+
+import java.util.List;
+
+public record ComplaintClusterResponse(int precision, List<ComplaintCluster> clusters) {
+}
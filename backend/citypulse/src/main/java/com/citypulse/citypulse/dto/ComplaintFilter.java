@@ -0,0 +1,16 @@
+package com.citypulse.citypulse.dto;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import java.time.Instant;
+
+public record ComplaintFilter(
+        ComplaintStatus status,
+        ComplaintCategory category,
+        ComplaintSeverity severity,
+        Instant createdFrom,
+        Instant createdTo,
+        String query,
+        boolean includeDuplicates) {
+}
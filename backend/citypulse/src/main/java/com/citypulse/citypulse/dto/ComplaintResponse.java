@@ -22,6 +22,7 @@ public record ComplaintResponse(
         String statusNotes,
         Instant createdAt,
         Instant updatedAt,
+        Long duplicateOfId,
         UserDto reporter) {
 }
 
@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.dto;
+
+import java.util.Map;
+
+public record ComplaintSearchHit(ComplaintResponse complaint, float score, Map<String, String> highlights) {
+}
@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.dto;
+
+import java.util.List;
+
+public record ComplaintSearchResponse(String query, long totalHits, int page, int size, List<ComplaintSearchHit> hits) {
+}
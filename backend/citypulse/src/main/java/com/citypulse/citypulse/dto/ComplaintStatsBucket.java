@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.dto;
+
+import java.time.Instant;
+
+public record ComplaintStatsBucket(Instant start, long submitted, long resolved) {
+}
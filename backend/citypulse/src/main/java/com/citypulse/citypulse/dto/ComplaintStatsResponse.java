@@ -0,0 +1,19 @@
+package com.citypulse.citypulse.dto;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record ComplaintStatsResponse(
+        long total,
+        Map<ComplaintStatus, Long> byStatus,
+        Map<ComplaintCategory, Long> byCategory,
+        Map<ComplaintSeverity, Long> bySeverity,
+        List<ComplaintStatsBucket> daily,
+        List<ComplaintStatsBucket> hourly,
+        ResolutionTimeStats resolutionTime,
+        Instant reconciledAt) {
+}
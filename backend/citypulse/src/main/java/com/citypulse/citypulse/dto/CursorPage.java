@@ -0,0 +1,10 @@
+package com.citypulse.citypulse.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is opaque to clients and is null on the last page;
+ * {@code totalElements} is only populated when the caller asked for it.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext, Long totalElements) {
+}
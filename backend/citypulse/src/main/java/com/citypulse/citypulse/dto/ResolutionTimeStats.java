@@ -0,0 +1,8 @@
+package com.citypulse.citypulse.dto;
+
+/**
+ * Time from submission to resolution, in seconds. Percentiles come from a log-scaled histogram and are accurate to
+ * about 10%; they are null when nothing was resolved in the window.
+ */
+public record ResolutionTimeStats(long resolved, Long p50Seconds, Long p90Seconds, Long p99Seconds) {
+}
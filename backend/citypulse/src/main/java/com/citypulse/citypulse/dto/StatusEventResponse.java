@@ -0,0 +1,13 @@
+package com.citypulse.citypulse.dto;
+
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import java.time.Instant;
+
+public record StatusEventResponse(
+        ComplaintStatus fromStatus,
+        ComplaintStatus toStatus,
+        String notes,
+        String changedBy,
+        Instant occurredAt,
+        Long secondsInPrevious) {
+}
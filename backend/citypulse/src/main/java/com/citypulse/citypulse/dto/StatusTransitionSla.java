@@ -0,0 +1,15 @@
+package com.citypulse.citypulse.dto;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+
+/**
+ * Time spent before moving between two statuses, in seconds. {@code category} is null for the all-category row.
+ */
+public record StatusTransitionSla(
+        ComplaintCategory category,
+        long transitions,
+        long p50Seconds,
+        long p90Seconds,
+        long p99Seconds,
+        long maxSeconds) {
+}
@@ -1,11 +1,14 @@
 package com.citypulse.citypulse.dto;
 
+import java.time.Instant;
+
 public record UserDto(
         Long id,
         String username,
         String email,
         String role,
         boolean admin,
-        String authProvider) {
+        String authProvider,
+        Instant updatedAt) {
 }
 
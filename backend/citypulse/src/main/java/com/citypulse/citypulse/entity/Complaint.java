@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
@@ -32,7 +33,18 @@ import org.hibernate.annotations.UpdateTimestamp;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "complaints")
+@Table(
+        name = "complaints",
+        indexes = {
+            @Index(name = "idx_complaints_status_category_severity_created", columnList = "status, category, severity, created_at"),
+            @Index(name = "idx_complaints_status_severity_created", columnList = "status, severity, created_at"),
+            @Index(name = "idx_complaints_category_severity_created", columnList = "category, severity, created_at"),
+            @Index(name = "idx_complaints_severity_created", columnList = "severity, created_at"),
+            @Index(name = "idx_complaints_created", columnList = "created_at, id"),
+            @Index(name = "idx_complaints_user_created", columnList = "user_id, created_at, id"),
+            @Index(name = "idx_complaints_geohash", columnList = "geohash"),
+            @Index(name = "idx_complaints_duplicate_of", columnList = "duplicate_of_id")
+        })
 public class Complaint {
 
     @Id
@@ -75,10 +87,21 @@ public class Complaint {
     @Column(precision = 10, scale = 6)
     private BigDecimal longitude;
 
+    // Derived from latitude/longitude; see GeoHash.
+    @Column(length = 12)
+    private String geohash;
+
+    // Legacy inline storage; LegacyImageMigrationJob moves these bytes into the ImageStore.
     @Lob
     @Basic(fetch = FetchType.LAZY)
     private byte[] image;
 
+    @Column(name = "image_key", length = 64)
+    private String imageKey;
+
+    @Column(name = "image_size")
+    private Long imageSize;
+
     @Column(name = "image_content_type", length = 50)
     private String imageContentType;
 
@@ -89,6 +112,13 @@ public class Complaint {
     @Column(name = "status_notes", length = 500)
     private String statusNotes;
 
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt;
+
+    // Canonical complaint this one was reported as a repeat of; see DuplicateComplaintDetector.
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
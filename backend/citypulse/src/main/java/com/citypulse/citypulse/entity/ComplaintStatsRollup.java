@@ -0,0 +1,61 @@
+package com.citypulse.citypulse.entity;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.StatsGranularity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "complaint_stats_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_complaint_stats_rollups_bucket",
+                columnNames = {"granularity", "bucket_start", "category", "severity"}))
+public class ComplaintStatsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private StatsGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false)
+    private ComplaintCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ComplaintSeverity severity;
+
+    // Complaints created in the bucket.
+    @Column(nullable = false)
+    private long submitted;
+
+    // Transitions into RESOLVED in the bucket.
+    @Column(nullable = false)
+    private long resolved;
+}
@@ -0,0 +1,81 @@
+package com.citypulse.citypulse.entity;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Append-only record of a complaint entering a status. Ids come from a pooled sequence (a table on MySQL) rather than
+ * IDENTITY so that Hibernate can batch the inserts.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(
+        name = "complaint_status_events",
+        indexes = {
+            @Index(name = "idx_complaint_status_events_timeline", columnList = "complaint_id, occurred_at"),
+            @Index(name = "idx_complaint_status_events_to_status", columnList = "to_status, occurred_at"),
+            @Index(
+                    name = "idx_complaint_status_events_transition",
+                    columnList = "from_status, to_status, occurred_at, category, seconds_in_previous"),
+            @Index(
+                    name = "idx_complaint_status_events_sla",
+                    columnList = "from_status, to_status, category, occurred_at, seconds_in_previous")
+        })
+public class ComplaintStatusEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "complaint_status_events_seq")
+    @SequenceGenerator(name = "complaint_status_events_seq", sequenceName = "complaint_status_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "complaint_id", nullable = false, updatable = false)
+    private Long complaintId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 50, updatable = false)
+    private ComplaintStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", length = 50, nullable = false, updatable = false)
+    private ComplaintStatus toStatus;
+
+    // Copied from the complaint so SLA queries by category never touch the complaints table.
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false, updatable = false)
+    private ComplaintCategory category;
+
+    @Column(length = 500, updatable = false)
+    private String notes;
+
+    @Column(name = "changed_by", length = 100, updatable = false)
+    private String changedBy;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private Instant occurredAt;
+
+    // Time spent in fromStatus; null for the initial event.
+    @Column(name = "seconds_in_previous", updatable = false)
+    private Long secondsInPrevious;
+}
@@ -0,0 +1,53 @@
+package com.citypulse.citypulse.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Schema for {@link com.citypulse.citypulse.idempotency.JdbcIdempotencyStore}, which reads and writes the table
+ * directly.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at"))
+public class IdempotencyKey {
+
+    // "<userId>:<Idempotency-Key header>"
+    @Id
+    @Column(name = "idempotency_key", length = 320)
+    private String key;
+
+    // 0 while the original request is in progress.
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    // "Name: value" lines; see IdempotentResponse.encodeHeaders.
+    @Column(columnDefinition = "TEXT")
+    private String headers;
+
+    @Lob
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,34 @@
+package com.citypulse.citypulse.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Schema for {@link com.citypulse.citypulse.ratelimit.JdbcRateLimitStore}, which reads and writes the table directly.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "rate_limit_buckets", indexes = @Index(name = "idx_rate_limit_buckets_arrival", columnList = "arrival_micros"))
+public class RateLimitBucket {
+
+    // "<policy>:<user|ip>:<id or address>"
+    @Id
+    @Column(name = "bucket_key", length = 200)
+    private String key;
+
+    // Epoch microseconds; the bucket is full once this lies in the past.
+    @Column(name = "arrival_micros", nullable = false)
+    private long arrivalMicros;
+}
@@ -16,6 +16,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Getter
 @Setter
@@ -46,11 +47,19 @@ public class User {
     @Column(name = "is_admin", nullable = false)
     private boolean admin;
 
-    @Column(name = "auth0_provider_id", length = 150)
+    @Column(name = "auth0_provider_id", length = 150, unique = true)
     private String auth0ProviderId;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
+
+    // Part of the complaint listing digest, which embeds the reporter; see ComplaintVersion.
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
 
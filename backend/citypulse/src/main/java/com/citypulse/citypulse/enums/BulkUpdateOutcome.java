@@ -0,0 +1,7 @@
+package com.citypulse.citypulse.enums;
+
+public enum BulkUpdateOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND
+}
@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.enums;
+
+public enum ComplaintEventType {
+    SUBMITTED,
+    STATUS_CHANGED
+}
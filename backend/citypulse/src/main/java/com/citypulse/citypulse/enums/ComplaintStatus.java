@@ -1,9 +1,21 @@
 package com.citypulse.citypulse.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ComplaintStatus {
     SUBMITTED,
     IN_PROGRESS,
     RESOLVED,
-    REJECTED
-}
+    REJECTED;
+
+    private static final Set<ComplaintStatus> OPEN = EnumSet.of(SUBMITTED, IN_PROGRESS);
 
+    public boolean isOpen() {
+        return OPEN.contains(this);
+    }
+
+    public static Set<ComplaintStatus> openStatuses() {
+        return OPEN;
+    }
+}
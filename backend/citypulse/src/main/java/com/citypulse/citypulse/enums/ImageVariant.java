@@ -0,0 +1,16 @@
+package com.citypulse.citypulse.enums;
+
+public enum ImageVariant {
+    THUMB(160),
+    MEDIUM(800);
+
+    private final int maxDimension;
+
+    ImageVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+}
@@ -0,0 +1,7 @@
+package com.citypulse.citypulse.enums;
+
+public enum MailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.enums;
+
+public enum StatsGranularity {
+    HOUR,
+    DAY
+}
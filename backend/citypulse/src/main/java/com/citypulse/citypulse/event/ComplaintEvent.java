@@ -0,0 +1,56 @@
+package com.citypulse.citypulse.event;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintEventType;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Published by {@code ComplaintService} whenever a complaint is created or changes status. Listeners should use
+ * {@code @TransactionalEventListener} so they only observe committed changes.
+ */
+public record ComplaintEvent(
+        ComplaintEventType type,
+        Long complaintId,
+        Long duplicateOfId,
+        ComplaintCategory category,
+        ComplaintSeverity severity,
+        ComplaintStatus status,
+        ComplaintStatus previousStatus,
+        String title,
+        String description,
+        String address,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        Instant createdAt,
+        Instant occurredAt) {
+
+    public static ComplaintEvent submitted(Complaint complaint) {
+        return of(ComplaintEventType.SUBMITTED, complaint, null);
+    }
+
+    public static ComplaintEvent statusChanged(Complaint complaint, ComplaintStatus previousStatus) {
+        return of(ComplaintEventType.STATUS_CHANGED, complaint, previousStatus);
+    }
+
+    private static ComplaintEvent of(ComplaintEventType type, Complaint complaint, ComplaintStatus previousStatus) {
+        return new ComplaintEvent(
+                type,
+                complaint.getId(),
+                complaint.getDuplicateOfId(),
+                complaint.getCategory(),
+                complaint.getSeverity(),
+                complaint.getStatus(),
+                previousStatus,
+                complaint.getTitle(),
+                complaint.getDescription(),
+                complaint.getAddress(),
+                complaint.getLatitude(),
+                complaint.getLongitude(),
+                complaint.getCreatedAt(),
+                Instant.now());
+    }
+}
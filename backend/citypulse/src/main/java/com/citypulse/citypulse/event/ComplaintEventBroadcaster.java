@@ -0,0 +1,191 @@
+package com.citypulse.citypulse.event;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Fans committed {@link ComplaintEvent}s out to Server-Sent Event subscribers without touching the database.
+ * Every subscriber has a bounded buffer drained by a small shared sender pool; a subscriber whose buffer overflows
+ * is disconnected and can resume from its last event id, which is replayed from an in-memory history.
+ */
+@Component
+public class ComplaintEventBroadcaster implements DisposableBean {
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    // Seeded from the clock so event ids keep increasing across restarts.
+    private long sequence = System.currentTimeMillis() * 1000;
+    private final Deque<StreamedEvent> history = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final int historySize;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    public ComplaintEventBroadcaster(
+            @Value("${app.events.history-size:1000}") int historySize,
+            @Value("${app.events.buffer-size:256}") int bufferSize,
+            @Value("${app.events.max-subscribers:5000}") int maxSubscribers,
+            @Value("${app.events.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.events.sender-threads:4}") int senderThreads) {
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "complaint-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(ComplaintEventFilter filter, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open event streams.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, filter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        synchronized (history) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onComplaintEvent(ComplaintEvent event) {
+        synchronized (history) {
+            StreamedEvent streamed = new StreamedEvent(++sequence, event);
+            history.addLast(streamed);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter().matches(event)) {
+                    deliver(subscriber, streamed);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:20000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            deliver(subscriber, HEARTBEAT);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        StreamedEvent oldest = history.peekFirst();
+        if (oldest != null && oldest.id() > lastEventId + 1) {
+            // Events were missed beyond what the history holds; the client has to reload its list.
+            deliver(subscriber, new StreamedEvent(oldest.id() - 1, null));
+        }
+        for (StreamedEvent streamed : history) {
+            if (streamed.id() > lastEventId && subscriber.filter().matches(streamed.event())) {
+                deliver(subscriber, streamed);
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber, Object item) {
+        if (!subscriber.queue().offer(item)) {
+            // Slow consumer: disconnect instead of buffering without bound. Completing takes the emitter's write lock,
+            // which a sender stuck writing to this subscriber holds, so it is left to the sender pool rather than
+            // stalling the publisher.
+            subscribers.remove(subscriber);
+            subscriber.queue().clear();
+            senders.execute(() -> subscriber.emitter().complete());
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object item;
+            while ((item = subscriber.queue().poll()) != null) {
+                send(subscriber, item);
+            }
+        } catch (IOException | IllegalStateException ex) {
+            subscribers.remove(subscriber);
+            subscriber.queue().clear();
+            subscriber.emitter().completeWithError(ex);
+        } finally {
+            subscriber.draining().set(false);
+        }
+        if (!subscriber.queue().isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Object item) throws IOException {
+        if (item instanceof StreamedEvent streamed) {
+            if (streamed.event() == null) {
+                subscriber.emitter().send(SseEmitter.event().id(Long.toString(streamed.id())).name("RESET").data(""));
+            } else {
+                subscriber.emitter().send(SseEmitter.event()
+                        .id(Long.toString(streamed.id()))
+                        .name(streamed.event().type().name())
+                        .data(streamed.event()));
+            }
+        } else {
+            subscriber.emitter().send(SseEmitter.event().comment(HEARTBEAT));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        senders.shutdownNow();
+    }
+
+    private record StreamedEvent(long id, ComplaintEvent event) {
+    }
+
+    private record Subscriber(
+            SseEmitter emitter,
+            ComplaintEventFilter filter,
+            BlockingQueue<Object> queue,
+            AtomicBoolean draining) {
+
+        Subscriber(SseEmitter emitter, ComplaintEventFilter filter, BlockingQueue<Object> queue) {
+            this(emitter, filter, queue, new AtomicBoolean());
+        }
+    }
+}
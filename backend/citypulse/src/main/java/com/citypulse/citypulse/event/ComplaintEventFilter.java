@@ -0,0 +1,14 @@
+package com.citypulse.citypulse.event;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+
+public record ComplaintEventFilter(ComplaintStatus status, ComplaintCategory category, ComplaintSeverity severity) {
+
+    public boolean matches(ComplaintEvent event) {
+        return (status == null || status == event.status() || status == event.previousStatus())
+                && (category == null || category == event.category())
+                && (severity == null || severity == event.severity());
+    }
+}
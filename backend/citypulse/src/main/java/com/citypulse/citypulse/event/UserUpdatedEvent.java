@@ -0,0 +1,8 @@
+package com.citypulse.citypulse.event;
+
+/**
+ * Published by {@code UserService} when a user's profile changes. Complaint responses embed their reporter, so
+ * caches of them listen for this with {@code @TransactionalEventListener}.
+ */
+public record UserUpdatedEvent(Long userId) {
+}
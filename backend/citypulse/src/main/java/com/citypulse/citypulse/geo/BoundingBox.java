@@ -0,0 +1,55 @@
+package com.citypulse.citypulse.geo;
+
+/**
+ * Latitude/longitude rectangle in degrees. Boxes crossing the antimeridian are not supported.
+ */
+public record BoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    public BoundingBox {
+        if (minLatitude < -90 || maxLatitude > 90 || minLongitude < -180 || maxLongitude > 180) {
+            throw new IllegalArgumentException("Bounding box is outside valid coordinates.");
+        }
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("Bounding box minimum must not exceed its maximum.");
+        }
+    }
+
+    /**
+     * Parses {@code minLat,minLng,maxLat,maxLng}.
+     */
+    public static BoundingBox parse(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box must be minLat,minLng,maxLat,maxLng.");
+        }
+        try {
+            return new BoundingBox(
+                    Double.parseDouble(parts[0].trim()),
+                    Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()),
+                    Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Bounding box must be minLat,minLng,maxLat,maxLng.");
+        }
+    }
+
+    /**
+     * Smallest box containing the circle of {@code radiusMeters} around the given point.
+     */
+    public static BoundingBox around(double latitude, double longitude, double radiusMeters) {
+        double latDelta = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double lngDelta = cosLat > 1e-6 ? Math.min(180, latDelta / cosLat) : 180;
+        return new BoundingBox(
+                Math.max(-90, latitude - latDelta),
+                Math.max(-180, longitude - lngDelta),
+                Math.min(90, latitude + latDelta),
+                Math.min(180, longitude + lngDelta));
+    }
+
+    public static double metersToDegrees(double meters) {
+        return Math.toDegrees(meters / EARTH_RADIUS_METERS);
+    }
+}
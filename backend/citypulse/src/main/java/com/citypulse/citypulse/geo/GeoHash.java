@@ -0,0 +1,124 @@
+package com.citypulse.citypulse.geo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding. Nearby points share prefixes, so a region maps to a handful of prefix ranges that a plain
+ * B-tree index on the hash column can scan.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLng = mid;
+                } else {
+                    index <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[index]);
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Geohash cells at the finest precision that covers {@code box} with at most {@code maxCells} cells. The cells may
+     * extend beyond the box, so callers still filter on the exact coordinates.
+     */
+    public static List<String> cover(BoundingBox box, int maxCells) {
+        for (int precision = MAX_PRECISION; precision > 1; precision--) {
+            if (cellCount(box, precision) <= maxCells) {
+                return cells(box, precision);
+            }
+        }
+        return cells(box, 1);
+    }
+
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << longitudeBits(precision));
+    }
+
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << latitudeBits(precision));
+    }
+
+    private static int longitudeBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+
+    private static int latitudeBits(int precision) {
+        return 5 * precision / 2;
+    }
+
+    public static long cellCount(BoundingBox box, int precision) {
+        double width = cellWidth(precision);
+        double height = cellHeight(precision);
+        long columns = column(box.maxLongitude(), width) - column(box.minLongitude(), width) + 1;
+        long rows = row(box.maxLatitude(), height) - row(box.minLatitude(), height) + 1;
+        return columns * rows;
+    }
+
+    /**
+     * All geohash cells of the given precision that intersect {@code box}.
+     */
+    public static List<String> cells(BoundingBox box, int precision) {
+        double width = cellWidth(precision);
+        double height = cellHeight(precision);
+        Set<String> hashes = new LinkedHashSet<>();
+        for (long row = row(box.minLatitude(), height); row <= row(box.maxLatitude(), height); row++) {
+            double latitude = Math.min(90, -90 + (row + 0.5) * height);
+            for (long column = column(box.minLongitude(), width); column <= column(box.maxLongitude(), width); column++) {
+                double longitude = Math.min(180, -180 + (column + 0.5) * width);
+                hashes.add(encode(latitude, longitude, precision));
+            }
+        }
+        return new ArrayList<>(hashes);
+    }
+
+    private static long column(double longitude, double width) {
+        return (long) Math.min(Math.floor((longitude + 180) / width), 360 / width - 1);
+    }
+
+    private static long row(double latitude, double height) {
+        return (long) Math.min(Math.floor((latitude + 90) / height), 180 / height - 1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.citypulse.citypulse.geo;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills {@code complaints.geohash} for rows created before the column existed, in id-ordered batches with one
+ * transaction per batch.
+ */
+@Component
+public class GeohashBackfillJob implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GeohashBackfillJob.class);
+
+    private final ComplaintRepository complaintRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "geohash-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.geo.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.geo.backfill.batch-size:500}")
+    private int batchSize;
+
+    public GeohashBackfillJob(ComplaintRepository complaintRepository, PlatformTransactionManager transactionManager) {
+        this.complaintRepository = complaintRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        if (enabled) {
+            executor.submit(this::backfillAll);
+        }
+    }
+
+    public int backfillAll() {
+        long lastId = 0L;
+        int updated = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = complaintRepository.findIdsWithoutGeohashAfter(lastId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer batchCount = transactionTemplate.execute(status -> backfillBatch(ids));
+            updated += batchCount != null ? batchCount : 0;
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (updated > 0) {
+            log.info("Computed geohashes for {} complaints", updated);
+        }
+        return updated;
+    }
+
+    private int backfillBatch(List<Long> ids) {
+        List<Complaint> complaints = complaintRepository.findAllById(ids);
+        for (Complaint complaint : complaints) {
+            complaint.setGeohash(GeoHash.encode(
+                    complaint.getLatitude().doubleValue(),
+                    complaint.getLongitude().doubleValue(),
+                    GeoHash.MAX_PRECISION));
+        }
+        return complaints.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
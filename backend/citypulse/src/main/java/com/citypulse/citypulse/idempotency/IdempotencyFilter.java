@@ -0,0 +1,234 @@
+package com.citypulse.citypulse.idempotency;
+
+import com.citypulse.citypulse.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Makes {@code POST /api/complaints} safe to retry. A request carrying an {@code Idempotency-Key} header reserves the
+ * key (scoped to the user) before the multipart body is parsed; a successful response is stored and replayed to later
+ * requests with the same key without reading their bodies, headers included. A duplicate that arrives while the
+ * original is still running waits for its outcome and gets 409 if it is still running after {@code waitTimeout}, so
+ * only one complaint is created. The reservation is renewed while the original runs, however long a slow upload
+ * takes, and only lapses after {@code lockTtl} if this instance stops renewing it. Failed requests release the key.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+    // Per-connection or recomputed by the container, so never replayed.
+    private static final Set<String> UNREPLAYED_HEADERS = caseInsensitive(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+            HttpHeaders.DATE, HttpHeaders.SET_COOKIE, REPLAYED_HEADER);
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final Duration waitTimeout;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdempotencyFilter(
+            IdempotencyStore store, ObjectMapper objectMapper, Duration ttl, Duration lockTtl, Duration waitTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !"/api/complaints".equals(urlPathHelper.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        Long userId = currentUserId();
+        if (key == null || userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!isValidKey(key)) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1-" + MAX_KEY_LENGTH + " printable ASCII characters.");
+            return;
+        }
+
+        String scopedKey = userId + ":" + key;
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (!store.tryReserve(scopedKey, lockTtl)) {
+            Optional<IdempotentResponse> existing = store.find(scopedKey);
+            if (existing.isPresent() && existing.get().isCompleted()) {
+                replay(existing.get(), response);
+                return;
+            }
+            // Empty means the original failed and released the key in the meantime; try to reserve it again.
+            if (existing.isPresent() && !sleepUntil(deadline)) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.CONFLICT,
+                        "A request with this " + HEADER + " is still being processed.");
+                return;
+            }
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        ScheduledFuture<?> renewal = scheduleRenewal(scopedKey);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (status >= 200 && status < 300) {
+                store.complete(scopedKey, new IdempotentResponse(
+                        status, wrapper.getContentType(), replayedHeaders(wrapper), wrapper.getContentAsByteArray()), ttl);
+                completed = true;
+            }
+        } finally {
+            renewal.cancel(false);
+            if (!completed) {
+                store.release(scopedKey);
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private ScheduledFuture<?> scheduleRenewal(String scopedKey) {
+        long periodMillis = Math.max(lockTtl.toMillis() / 3, 1);
+        return renewals.scheduleAtFixedRate(() -> {
+            try {
+                if (!store.renew(scopedKey, lockTtl)) {
+                    log.warn("Idempotency reservation {} lapsed while its request was still running", scopedKey);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Could not renew idempotency reservation {}", scopedKey, ex);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static Map<String, List<String>> replayedHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!UNREPLAYED_HEADERS.contains(name)) {
+                headers.putIfAbsent(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach((name, values) -> {
+            for (int i = 0; i < values.size(); i++) {
+                if (i == 0) {
+                    response.setHeader(name, values.get(i));
+                } else {
+                    response.addHeader(name, values.get(i));
+                }
+            }
+        });
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        renewals.shutdownNow();
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(List.of(names));
+        return set;
+    }
+
+    private static boolean sleepUntil(long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return false;
+        }
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isValidKey(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x21 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now());
+        body.put("status", status.value());
+        body.put("error", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
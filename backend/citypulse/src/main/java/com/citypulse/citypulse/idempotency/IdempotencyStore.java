@@ -0,0 +1,32 @@
+package com.citypulse.citypulse.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Key-value store behind {@link IdempotencyFilter}. A key is first reserved while its request runs and then either
+ * completed with the response to replay or released so the request can be retried.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserves {@code key} for {@code lockTtl}. Returns false if the key is already reserved or completed and has
+     * not expired.
+     */
+    boolean tryReserve(String key, Duration lockTtl);
+
+    /**
+     * Extends a reservation that is still in progress to expire {@code lockTtl} from now. Returns false if the key is
+     * no longer reserved, e.g. because it expired and another request took it over.
+     */
+    boolean renew(String key, Duration lockTtl);
+
+    /**
+     * The unexpired entry for {@code key}, in progress or completed.
+     */
+    Optional<IdempotentResponse> find(String key);
+
+    void complete(String key, IdempotentResponse response, Duration ttl);
+
+    void release(String key);
+}
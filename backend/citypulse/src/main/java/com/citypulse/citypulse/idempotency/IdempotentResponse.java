@@ -0,0 +1,44 @@
+package com.citypulse.citypulse.idempotency;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A stored response; {@code status} is 0 while the original request is still running. {@code headers} holds the
+ * response headers to replay, such as {@code Location} and {@code ETag}.
+ */
+public record IdempotentResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+
+    static final IdempotentResponse IN_PROGRESS = new IdempotentResponse(0, null, Map.of(), null);
+
+    boolean isCompleted() {
+        return status != 0;
+    }
+
+    /**
+     * One {@code Name: value} line per header value; header values cannot contain line breaks.
+     */
+    static String encodeHeaders(Map<String, List<String>> headers) {
+        StringBuilder encoded = new StringBuilder();
+        headers.forEach((name, values) -> values.forEach(value ->
+                encoded.append(name).append(": ").append(value).append('\n')));
+        return encoded.toString();
+    }
+
+    static Map<String, List<String>> decodeHeaders(String encoded) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (encoded == null) {
+            return headers;
+        }
+        for (String line : encoded.split("\n")) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) {
+                headers.computeIfAbsent(line.substring(0, separator), name -> new ArrayList<>())
+                        .add(line.substring(separator + 2));
+            }
+        }
+        return headers;
+    }
+}
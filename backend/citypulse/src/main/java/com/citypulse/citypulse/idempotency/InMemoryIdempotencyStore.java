@@ -0,0 +1,67 @@
+package com.citypulse.citypulse.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Single-instance store; entries expire individually and the oldest are evicted beyond {@code maxKeys}.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(long maxKeys) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean tryReserve(String key, Duration lockTtl) {
+        return entries.asMap().putIfAbsent(key, new Entry(IdempotentResponse.IN_PROGRESS, lockTtl)) == null;
+    }
+
+    @Override
+    public boolean renew(String key, Duration lockTtl) {
+        Entry renewed = entries.asMap().computeIfPresent(key,
+                (ignored, entry) -> entry.response().isCompleted() ? entry : new Entry(entry.response(), lockTtl));
+        return renewed != null && !renewed.response().isCompleted();
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        return Optional.ofNullable(entries.getIfPresent(key)).map(Entry::response);
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response, Duration ttl) {
+        entries.put(key, new Entry(response, ttl));
+    }
+
+    @Override
+    public void release(String key) {
+        entries.invalidate(key);
+    }
+
+    private record Entry(IdempotentResponse response, Duration ttl) {
+    }
+}
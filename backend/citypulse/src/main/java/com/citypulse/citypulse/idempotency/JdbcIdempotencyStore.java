@@ -0,0 +1,93 @@
+package com.citypulse.citypulse.idempotency;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Store shared by all instances, backed by the {@code idempotency_keys} table. Reservation relies on the primary key,
+ * so two instances racing on the same key cannot both win.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean tryReserve(String key, Duration lockTtl) {
+        if (insert(key, lockTtl)) {
+            return true;
+        }
+        // An expired row still holds the key until the purge runs; take it over.
+        int removed = jdbcTemplate.update(
+                "delete from idempotency_keys where idempotency_key = ? and expires_at < ?",
+                key, Timestamp.from(Instant.now()));
+        return removed > 0 && insert(key, lockTtl);
+    }
+
+    private boolean insert(String key, Duration lockTtl) {
+        Instant now = Instant.now();
+        try {
+            jdbcTemplate.update(
+                    "insert into idempotency_keys (idempotency_key, status_code, expires_at, created_at) values (?, 0, ?, ?)",
+                    key, Timestamp.from(now.plus(lockTtl)), Timestamp.from(now));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean renew(String key, Duration lockTtl) {
+        Instant now = Instant.now();
+        return jdbcTemplate.update(
+                "update idempotency_keys set expires_at = ? where idempotency_key = ? and status_code = 0 and expires_at >= ?",
+                Timestamp.from(now.plus(lockTtl)), key, Timestamp.from(now)) > 0;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        List<IdempotentResponse> rows = jdbcTemplate.query(
+                "select status_code, content_type, headers, body from idempotency_keys "
+                        + "where idempotency_key = ? and expires_at >= ?",
+                (rs, rowNum) -> new IdempotentResponse(rs.getInt(1), rs.getString(2),
+                        IdempotentResponse.decodeHeaders(rs.getString(3)), rs.getBytes(4)),
+                key, Timestamp.from(Instant.now()));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response, Duration ttl) {
+        jdbcTemplate.update(
+                "update idempotency_keys set status_code = ?, content_type = ?, headers = ?, body = ?, expires_at = ? "
+                        + "where idempotency_key = ?",
+                response.status(), response.contentType(), IdempotentResponse.encodeHeaders(response.headers()),
+                response.body(), Timestamp.from(Instant.now().plus(ttl)), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ?", key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = jdbcTemplate.update(
+                "delete from idempotency_keys where expires_at < ?", Timestamp.from(Instant.now()));
+        if (removed > 0) {
+            log.debug("Purged {} expired idempotency keys", removed);
+        }
+    }
+}
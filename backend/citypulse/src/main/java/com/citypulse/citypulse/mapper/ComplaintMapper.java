@@ -1,7 +1,9 @@
 package com.citypulse.citypulse.mapper;
 
 import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.dto.UserDto;
 import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.repository.ComplaintRow;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -31,7 +33,39 @@ public class ComplaintMapper {
                 complaint.getStatusNotes(),
                 complaint.getCreatedAt(),
                 complaint.getUpdatedAt(),
+                complaint.getDuplicateOfId(),
                 userMapper.toDto(complaint.getUser()));
     }
+
+    public ComplaintResponse toDto(ComplaintRow row) {
+        if (row == null) {
+            return null;
+        }
+        return new ComplaintResponse(
+                row.id(),
+                row.category(),
+                row.severity(),
+                row.status(),
+                row.title(),
+                row.description(),
+                row.contactName(),
+                row.contactPhone(),
+                row.contactEmail(),
+                row.address(),
+                row.latitude(),
+                row.longitude(),
+                row.statusNotes(),
+                row.createdAt(),
+                row.updatedAt(),
+                row.duplicateOfId(),
+                new UserDto(
+                        row.reporterId(),
+                        row.reporterUsername(),
+                        row.reporterEmail(),
+                        row.reporterRole().name(),
+                        row.reporterAdmin(),
+                        row.reporterAuth0ProviderId() != null ? "auth0" : "local",
+                        row.reporterUpdatedAt()));
+    }
 }
 
@@ -17,7 +17,8 @@ public class UserMapper {
                 user.getEmail(),
                 user.getRole().name(),
                 user.isAdmin(),
-                user.getAuth0ProviderId() != null ? "auth0" : "local");
+                user.getAuth0ProviderId() != null ? "auth0" : "local",
+                user.getUpdatedAt());
     }
 }
 
@@ -0,0 +1,42 @@
+package com.citypulse.citypulse.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buckets held in this instance only. Each bucket is an {@link AtomicLong} updated without locks. A bucket that has
+ * been idle for {@code idleTimeout} is full again and is evicted, and {@code maxKeys} caps the memory used under a flood
+ * of distinct clients.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public InMemoryRateLimitStore(long maxKeys, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    @Override
+    public Duration tryAcquire(String key, RateLimitPolicy policy) {
+        AtomicLong bucket = buckets.get(key, ignored -> new AtomicLong(Long.MIN_VALUE));
+        long interval = policy.intervalNanos();
+        long tolerance = policy.period().toNanos() - interval;
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            long start = arrival == Long.MIN_VALUE || arrival - now < 0 ? now : arrival;
+            long backlog = start - now;
+            if (backlog > tolerance) {
+                return Duration.ofNanos(backlog - tolerance);
+            }
+            if (bucket.compareAndSet(arrival, start + interval)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
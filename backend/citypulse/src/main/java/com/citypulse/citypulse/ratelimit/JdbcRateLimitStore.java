@@ -0,0 +1,76 @@
+package com.citypulse.citypulse.ratelimit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Buckets shared by all instances, backed by the {@code rate_limit_buckets} table. Each bucket is one row, updated
+ * with an optimistic compare-and-set on its arrival time, so concurrent instances never both spend the last token.
+ */
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRateLimitStore.class);
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Duration tryAcquire(String key, RateLimitPolicy policy) {
+        long interval = Math.max(1, policy.intervalNanos() / 1_000);
+        long tolerance = policy.period().toNanos() / 1_000 - interval;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long now = nowMicros();
+            List<Long> rows = jdbcTemplate.queryForList(
+                    "select arrival_micros from rate_limit_buckets where bucket_key = ?", Long.class, key);
+            if (rows.isEmpty()) {
+                try {
+                    jdbcTemplate.update(
+                            "insert into rate_limit_buckets (bucket_key, arrival_micros) values (?, ?)",
+                            key, now + interval);
+                    return Duration.ZERO;
+                } catch (DuplicateKeyException ex) {
+                    continue;
+                }
+            }
+            long arrival = rows.get(0);
+            long start = Math.max(arrival, now);
+            if (start - now > tolerance) {
+                return Duration.of(start - now - tolerance, ChronoUnit.MICROS);
+            }
+            int updated = jdbcTemplate.update(
+                    "update rate_limit_buckets set arrival_micros = ? where bucket_key = ? and arrival_micros = ?",
+                    start + interval, key, arrival);
+            if (updated == 1) {
+                return Duration.ZERO;
+            }
+        }
+        // Heavily contended bucket: treat it as exhausted rather than looping on the database.
+        return Duration.ofNanos(policy.intervalNanos());
+    }
+
+    /**
+     * Removes buckets that have refilled completely; they behave exactly like a missing row.
+     */
+    @Scheduled(fixedDelayString = "${app.ratelimit.purge-interval-ms:600000}")
+    public void purgeFull() {
+        int removed = jdbcTemplate.update("delete from rate_limit_buckets where arrival_micros < ?", nowMicros());
+        if (removed > 0) {
+            log.debug("Purged {} idle rate limit buckets", removed);
+        }
+    }
+
+    private static long nowMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+}
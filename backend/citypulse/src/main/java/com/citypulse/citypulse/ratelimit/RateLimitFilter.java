@@ -0,0 +1,103 @@
+package com.citypulse.citypulse.ratelimit;
+
+import com.citypulse.citypulse.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the first matching {@link Route}'s token bucket to each request. It sits in the security filter chain after
+ * JWT authentication, so user-scoped buckets know the caller, and before any multipart body is parsed, so a rejected
+ * upload costs neither a LOB write nor a password hash. Rejections get 429 with a {@code Retry-After} header.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitStore store;
+    private final List<Route> routes;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Counter> rejectedCounters = new LinkedHashMap<>();
+
+    public RateLimitFilter(RateLimitStore store, List<Route> routes, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.routes = List.copyOf(routes);
+        this.objectMapper = objectMapper;
+        for (Route route : routes) {
+            rejectedCounters.computeIfAbsent(route.policy().name(), name -> Counter.builder("citypulse.ratelimit.rejected")
+                    .description("Requests rejected by a rate limit policy")
+                    .tag("policy", name)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitPolicy policy = findPolicy(request);
+        if (policy == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Duration wait = store.tryAcquire(bucketKey(policy, request), policy);
+        if (wait.isZero()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        rejectedCounters.get(policy.name()).increment();
+        long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        writeError(response, "Too many requests. Please retry in " + retryAfterSeconds + " seconds.");
+    }
+
+    private RateLimitPolicy findPolicy(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher().matches(request)) {
+                return route.policy();
+            }
+        }
+        return null;
+    }
+
+    private static String bucketKey(RateLimitPolicy policy, HttpServletRequest request) {
+        if (policy.scope() == RateLimitPolicy.Scope.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                return policy.name() + ":user:" + principal.getId();
+            }
+        }
+        // Behind a proxy this is only the client's address when server.forward-headers-strategy is configured.
+        return policy.name() + ":ip:" + request.getRemoteAddr();
+    }
+
+    private void writeError(HttpServletResponse response, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", message);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Requests matching {@code matcher} draw from {@code policy}'s buckets.
+     */
+    public record Route(RequestMatcher matcher, RateLimitPolicy policy) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.citypulse.citypulse.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A token bucket holding up to {@code capacity} requests that refills completely over {@code period}, so a client can
+ * burst {@code capacity} requests and then sustain {@code capacity / period}.
+ *
+ * @param name  identifies the policy in bucket keys and metrics
+ * @param scope whether buckets are per signed-in user or per client IP
+ */
+public record RateLimitPolicy(String name, int capacity, Duration period, Scope scope) {
+
+    public RateLimitPolicy {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit policy " + name + " needs a positive capacity and period");
+        }
+    }
+
+    /**
+     * Time it takes to refill a single token.
+     */
+    public long intervalNanos() {
+        return period.toNanos() / capacity;
+    }
+
+    public enum Scope {
+        /**
+         * One bucket per authenticated user; anonymous requests fall back to the client IP.
+         */
+        USER,
+        IP
+    }
+}
@@ -0,0 +1,18 @@
+package com.citypulse.citypulse.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Holds the token buckets. Buckets are tracked as a "theoretical arrival time" (GCRA): the bucket is full when that
+ * time lies in the past and every request pushes it one refill interval further, so a bucket is a single number that
+ * can be updated with a compare-and-set.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket {@code key} of {@code policy}.
+     *
+     * @return {@link Duration#ZERO} if the request is allowed, otherwise how long until a token is available
+     */
+    Duration tryAcquire(String key, RateLimitPolicy policy);
+}
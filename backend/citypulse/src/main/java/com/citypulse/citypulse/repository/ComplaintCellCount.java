@@ -0,0 +1,17 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import java.math.BigDecimal;
+
+/**
+ * Number of complaints per geohash cell, category and severity, with coordinate sums for the cell centroid.
+ */
+public record ComplaintCellCount(
+        String cell,
+        ComplaintCategory category,
+        ComplaintSeverity severity,
+        Long count,
+        BigDecimal latitudeSum,
+        BigDecimal longitudeSum) {
+}
@@ -0,0 +1,12 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+
+public record ComplaintCountRow(
+        ComplaintStatus status,
+        ComplaintCategory category,
+        ComplaintSeverity severity,
+        Long count) {
+}
@@ -0,0 +1,39 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.dto.ComplaintResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position in a complaint listing ordered by {@code (created_at DESC, id DESC)}. Encoded as an opaque URL-safe token
+ * so clients cannot depend on its contents.
+ */
+public record ComplaintCursor(Instant createdAt, Long id) {
+
+    public static final Sort SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    public static ComplaintCursor of(ComplaintResponse complaint) {
+        return new ComplaintCursor(complaint.createdAt(), complaint.id());
+    }
+
+    public static ComplaintCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int idSeparator = value.indexOf(':');
+            int nanoSeparator = value.indexOf('.');
+            long seconds = Long.parseLong(value.substring(0, nanoSeparator));
+            int nanos = Integer.parseInt(value.substring(nanoSeparator + 1, idSeparator));
+            long id = Long.parseLong(value.substring(idSeparator + 1));
+            return new ComplaintCursor(Instant.ofEpochSecond(seconds, nanos), id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    public String encode() {
+        String value = createdAt.getEpochSecond() + "." + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
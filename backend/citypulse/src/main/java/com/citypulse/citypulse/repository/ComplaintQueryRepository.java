@@ -0,0 +1,22 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.entity.Complaint;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface ComplaintQueryRepository {
+
+    Page<ComplaintRow> findRows(Specification<Complaint> specification, Pageable pageable);
+
+    List<ComplaintRow> findRows(Specification<Complaint> specification, Sort sort, int limit);
+
+    Optional<ComplaintRow> findRow(Specification<Complaint> specification);
+
+    List<ComplaintCellCount> countByCell(Specification<Complaint> specification, int precision);
+
+    ComplaintVersion findVersion(Specification<Complaint> specification);
+}
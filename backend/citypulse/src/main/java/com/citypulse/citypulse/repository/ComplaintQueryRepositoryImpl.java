@@ -0,0 +1,142 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+class ComplaintQueryRepositoryImpl implements ComplaintQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ComplaintRow> findRows(Specification<Complaint> specification, Pageable pageable) {
+        TypedQuery<ComplaintRow> query = createRowQuery(specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<ComplaintRow> rows = query.getResultList();
+        // The COUNT only runs when the page is full or not the first one.
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<ComplaintRow> findRows(Specification<Complaint> specification, Sort sort, int limit) {
+        return createRowQuery(specification, sort).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Optional<ComplaintRow> findRow(Specification<Complaint> specification) {
+        return createRowQuery(specification, Sort.unsorted()).setMaxResults(1).getResultStream().findFirst();
+    }
+
+    @Override
+    public List<ComplaintCellCount> countByCell(Specification<Complaint> specification, int precision) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ComplaintCellCount> query = cb.createQuery(ComplaintCellCount.class);
+        Root<Complaint> root = query.from(Complaint.class);
+        Expression<String> cell = cb.substring(root.get("geohash"), 1, precision);
+        query.select(cb.construct(
+                ComplaintCellCount.class,
+                cell,
+                root.get("category"),
+                root.get("severity"),
+                cb.count(root),
+                cb.sum(root.get("latitude")),
+                cb.sum(root.get("longitude"))));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(cell, root.get("category"), root.get("severity"));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public ComplaintVersion findVersion(Specification<Complaint> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ComplaintVersion> query = cb.createQuery(ComplaintVersion.class);
+        Root<Complaint> root = query.from(Complaint.class);
+        Join<Complaint, User> reporter = root.join("user");
+        query.select(cb.construct(
+                ComplaintVersion.class,
+                cb.count(root),
+                cb.greatest(root.<Instant>get("updatedAt")),
+                cb.greatest(reporter.<Instant>get("updatedAt"))));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private TypedQuery<ComplaintRow> createRowQuery(Specification<Complaint> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ComplaintRow> query = cb.createQuery(ComplaintRow.class);
+        Root<Complaint> root = query.from(Complaint.class);
+        Join<Complaint, User> reporter = root.join("user");
+        query.select(cb.construct(
+                ComplaintRow.class,
+                root.get("id"),
+                root.get("category"),
+                root.get("severity"),
+                root.get("status"),
+                root.get("title"),
+                root.get("description"),
+                root.get("contactName"),
+                root.get("contactPhone"),
+                root.get("contactEmail"),
+                root.get("address"),
+                root.get("latitude"),
+                root.get("longitude"),
+                root.get("statusNotes"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("duplicateOfId"),
+                reporter.get("id"),
+                reporter.get("username"),
+                reporter.get("email"),
+                reporter.get("role"),
+                reporter.get("admin"),
+                reporter.get("auth0ProviderId"),
+                reporter.get("updatedAt")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Complaint> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Complaint> root = query.from(Complaint.class);
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
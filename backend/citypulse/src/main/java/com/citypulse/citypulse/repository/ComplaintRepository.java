@@ -1,47 +1,69 @@
 package com.citypulse.citypulse.repository;
 
 import com.citypulse.citypulse.entity.Complaint;
-import com.citypulse.citypulse.enums.ComplaintCategory;
-import com.citypulse.citypulse.enums.ComplaintSeverity;
 import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.storage.ComplaintImageRef;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
+public interface ComplaintRepository
+        extends JpaRepository<Complaint, Long>, JpaSpecificationExecutor<Complaint>, ComplaintQueryRepository {
 
-    Page<Complaint> findAllByUserId(Long userId, Pageable pageable);
+    @Query("select new com.citypulse.citypulse.storage.ComplaintImageRef(c.imageKey, c.imageContentType) "
+            + "from Complaint c where c.id = :id and c.imageKey is not null")
+    Optional<ComplaintImageRef> findImageRefById(@Param("id") Long id);
 
-    Optional<Complaint> findByIdAndUserId(Long complaintId, Long userId);
+    @Query("select c.id from Complaint c where c.id > :afterId and c.image is not null and c.imageKey is null order by c.id")
+    List<Long> findLegacyImageIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
-    Page<Complaint> findAllByStatus(ComplaintStatus status, Pageable pageable);
+    @Query("select c.image from Complaint c where c.id = :id and c.image is not null and c.imageKey is null")
+    Optional<byte[]> findLegacyImageById(@Param("id") Long id);
 
-    Page<Complaint> findAllByCategory(ComplaintCategory category, Pageable pageable);
+    @Modifying
+    @Query("update Complaint c set c.imageKey = :imageKey, c.imageSize = :imageSize, c.image = null, "
+            + "c.updatedAt = :updatedAt where c.id = :id and c.imageKey is null")
+    int moveLegacyImage(@Param("id") Long id, @Param("imageKey") String imageKey, @Param("imageSize") Long imageSize,
+            @Param("updatedAt") Instant updatedAt);
 
-    Page<Complaint> findAllBySeverity(ComplaintSeverity severity, Pageable pageable);
+    @Query("select new com.citypulse.citypulse.repository.ComplaintCountRow(c.status, c.category, c.severity, count(c)) "
+            + "from Complaint c group by c.status, c.category, c.severity")
+    List<ComplaintCountRow> countByStatusCategorySeverity();
 
-    Page<Complaint> findAllByStatusAndCategoryAndSeverity(
-            ComplaintStatus status,
-            ComplaintCategory category,
-            ComplaintSeverity severity,
-            Pageable pageable);
+    @Query("select new com.citypulse.citypulse.repository.StatsBucketRow("
+            + "truncate(c.createdAt, day), c.category, c.severity, count(c)) from Complaint c "
+            + "where c.createdAt >= :since group by truncate(c.createdAt, day), c.category, c.severity")
+    List<StatsBucketRow> countSubmittedByDay(@Param("since") Instant since);
 
-    Page<Complaint> findAllByStatusAndCategory(
-            ComplaintStatus status,
-            ComplaintCategory category,
-            Pageable pageable);
+    @Query("select new com.citypulse.citypulse.repository.StatsBucketRow("
+            + "truncate(c.createdAt, hour), c.category, c.severity, count(c)) from Complaint c "
+            + "where c.createdAt >= :since group by truncate(c.createdAt, hour), c.category, c.severity")
+    List<StatsBucketRow> countSubmittedByHour(@Param("since") Instant since);
 
-    Page<Complaint> findAllByStatusAndSeverity(
-            ComplaintStatus status,
-            ComplaintSeverity severity,
-            Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    List<Complaint> findAllByDuplicateOfId(Long duplicateOfId);
 
-    Page<Complaint> findAllByCategoryAndSeverity(
-            ComplaintCategory category,
-            ComplaintSeverity severity,
-            Pageable pageable);
-}
+    @EntityGraph(attributePaths = "user")
+    List<Complaint> findAllByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "user")
+    List<Complaint> findAllByDuplicateOfIdIn(Collection<Long> duplicateOfIds);
 
+    @Query("select new com.citypulse.citypulse.repository.ComplaintSearchRow(c.id, c.category, c.severity, c.status, "
+            + "c.title, c.description, c.address, c.duplicateOfId) from Complaint c where c.id > :afterId order by c.id")
+    List<ComplaintSearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select c.id from Complaint c where c.id > :afterId and c.geohash is null "
+            + "and c.latitude is not null and c.longitude is not null order by c.id")
+    List<Long> findIdsWithoutGeohashAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
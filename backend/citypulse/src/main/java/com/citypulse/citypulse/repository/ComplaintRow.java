@@ -0,0 +1,38 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.enums.Role;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Flat projection of a complaint and its reporter, selected with a single join and never attached to the
+ * persistence context. The image column is deliberately absent.
+ */
+public record ComplaintRow(
+        Long id,
+        ComplaintCategory category,
+        ComplaintSeverity severity,
+        ComplaintStatus status,
+        String title,
+        String description,
+        String contactName,
+        String contactPhone,
+        String contactEmail,
+        String address,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        String statusNotes,
+        Instant createdAt,
+        Instant updatedAt,
+        Long duplicateOfId,
+        Long reporterId,
+        String reporterUsername,
+        String reporterEmail,
+        Role reporterRole,
+        boolean reporterAdmin,
+        String reporterAuth0ProviderId,
+        Instant reporterUpdatedAt) {
+}
@@ -0,0 +1,19 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+
+/**
+ * The fields of a complaint that go into the full-text index.
+ */
+public record ComplaintSearchRow(
+        Long id,
+        ComplaintCategory category,
+        ComplaintSeverity severity,
+        ComplaintStatus status,
+        String title,
+        String description,
+        String address,
+        Long duplicateOfId) {
+}
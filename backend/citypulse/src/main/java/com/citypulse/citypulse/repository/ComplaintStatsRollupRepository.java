@@ -0,0 +1,26 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.entity.ComplaintStatsRollup;
+import com.citypulse.citypulse.enums.StatsGranularity;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ComplaintStatsRollupRepository extends JpaRepository<ComplaintStatsRollup, Long> {
+
+    List<ComplaintStatsRollup> findAllByGranularityAndBucketStartGreaterThanEqual(
+            StatsGranularity granularity, Instant from);
+
+    @Modifying
+    @Query("delete from ComplaintStatsRollup r where r.granularity = :granularity and r.bucketStart >= :from")
+    int deleteFrom(@Param("granularity") StatsGranularity granularity, @Param("from") Instant from);
+
+    @Modifying
+    @Query("delete from ComplaintStatsRollup r where r.granularity = :granularity and r.bucketStart < :before")
+    int deleteBefore(@Param("granularity") StatsGranularity granularity, @Param("before") Instant before);
+}
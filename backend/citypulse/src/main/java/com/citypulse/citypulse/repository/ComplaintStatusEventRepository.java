@@ -0,0 +1,69 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.entity.ComplaintStatusEvent;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ComplaintStatusEventRepository extends JpaRepository<ComplaintStatusEvent, Long> {
+
+    List<ComplaintStatusEvent> findAllByComplaintIdOrderByOccurredAtAscIdAsc(Long complaintId);
+
+    // Durations are grouped per category into log-scale buckets (1.1^i to 1.1^(i+1) seconds), so at most a few
+    // hundred rows per category come back however many transitions match. The first query is answered from
+    // idx_complaint_status_events_transition alone, the second from idx_complaint_status_events_sla.
+    @Query("select new com.citypulse.citypulse.repository.StatusDurationBucketRow(e.category, "
+            + "floor(ln(greatest(e.secondsInPrevious, 1)) / ln(1.1)), count(e), max(e.secondsInPrevious)) "
+            + "from ComplaintStatusEvent e where e.fromStatus = :from and e.toStatus = :to and e.occurredAt >= :since "
+            + "and e.secondsInPrevious is not null "
+            + "group by e.category, floor(ln(greatest(e.secondsInPrevious, 1)) / ln(1.1))")
+    List<StatusDurationBucketRow> findDurationHistogram(
+            @Param("from") ComplaintStatus from, @Param("to") ComplaintStatus to, @Param("since") Instant since);
+
+    @Query("select new com.citypulse.citypulse.repository.StatusDurationBucketRow(e.category, "
+            + "floor(ln(greatest(e.secondsInPrevious, 1)) / ln(1.1)), count(e), max(e.secondsInPrevious)) "
+            + "from ComplaintStatusEvent e where e.fromStatus = :from and e.toStatus = :to "
+            + "and e.category = :category and e.occurredAt >= :since and e.secondsInPrevious is not null "
+            + "group by e.category, floor(ln(greatest(e.secondsInPrevious, 1)) / ln(1.1))")
+    List<StatusDurationBucketRow> findDurationHistogram(
+            @Param("from") ComplaintStatus from,
+            @Param("to") ComplaintStatus to,
+            @Param("category") ComplaintCategory category,
+            @Param("since") Instant since);
+
+    // Resolutions are transitions into RESOLVED from another status; updates that keep a complaint RESOLVED are not.
+    @Query("select new com.citypulse.citypulse.repository.StatsBucketRow("
+            + "truncate(e.occurredAt, day), c.category, c.severity, count(e)) "
+            + "from ComplaintStatusEvent e join Complaint c on c.id = e.complaintId "
+            + "where e.toStatus = :resolved and e.fromStatus <> :resolved and e.occurredAt >= :since "
+            + "group by truncate(e.occurredAt, day), c.category, c.severity")
+    List<StatsBucketRow> countResolvedByDay(
+            @Param("since") Instant since, @Param("resolved") ComplaintStatus resolved);
+
+    @Query("select new com.citypulse.citypulse.repository.StatsBucketRow("
+            + "truncate(e.occurredAt, hour), c.category, c.severity, count(e)) "
+            + "from ComplaintStatusEvent e join Complaint c on c.id = e.complaintId "
+            + "where e.toStatus = :resolved and e.fromStatus <> :resolved and e.occurredAt >= :since "
+            + "group by truncate(e.occurredAt, hour), c.category, c.severity")
+    List<StatsBucketRow> countResolvedByHour(
+            @Param("since") Instant since, @Param("resolved") ComplaintStatus resolved);
+
+    /**
+     * Resolutions since {@code since} counted per log-scale bucket of time from submission: bucket {@code i} holds
+     * durations of {@code 1.1^i} to {@code 1.1^(i+1)} seconds. The base is a literal rather than a parameter so the
+     * database can match the grouped expression against the selected one.
+     */
+    @Query("select new com.citypulse.citypulse.repository.HistogramBucketRow("
+            + "floor(ln(greatest((e.occurredAt - c.createdAt) by second, 1)) / ln(1.1)), count(e)) "
+            + "from ComplaintStatusEvent e join Complaint c on c.id = e.complaintId "
+            + "where e.toStatus = :resolved and e.fromStatus <> :resolved and e.occurredAt >= :since "
+            + "group by floor(ln(greatest((e.occurredAt - c.createdAt) by second, 1)) / ln(1.1))")
+    List<HistogramBucketRow> resolutionHistogram(
+            @Param("since") Instant since, @Param("resolved") ComplaintStatus resolved);
+}
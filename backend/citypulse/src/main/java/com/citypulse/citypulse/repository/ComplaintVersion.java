@@ -0,0 +1,31 @@
+package com.citypulse.citypulse.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Digest of a set of complaints: any insert, delete or update changes the count or the latest {@code updatedAt}, and
+ * an update to a reporter embedded in the listing changes {@code reporterUpdatedAt}.
+ */
+public record ComplaintVersion(Long count, Instant lastUpdatedAt, Instant reporterUpdatedAt) {
+
+    /**
+     * A weak ETag for one page of a listing over this set. {@code scope} distinguishes listings that could share a
+     * digest and {@code query} holds the normalized parameters that select the page (filter, page, size, sort,
+     * cursor), so each page gets its own validator.
+     */
+    public String etag(String scope, Object... query) {
+        String parameters = Arrays.stream(query).map(Objects::toString).collect(Collectors.joining("|"));
+        String queryHash = DigestUtils.md5DigestAsHex(parameters.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+        return "W/\"" + scope + "-" + queryHash + "-" + count + "-" + millis(lastUpdatedAt) + "-"
+                + millis(reporterUpdatedAt) + "\"";
+    }
+
+    private static long millis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : 0L;
+    }
+}
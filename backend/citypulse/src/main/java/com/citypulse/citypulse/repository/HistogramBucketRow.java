@@ -0,0 +1,6 @@
+package com.citypulse.citypulse.repository;
+
+public record HistogramBucketRow(
+        Number bucket,
+        Long count) {
+}
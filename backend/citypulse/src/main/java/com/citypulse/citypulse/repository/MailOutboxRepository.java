@@ -0,0 +1,18 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.entity.MailOutboxMessage;
+import com.citypulse.citypulse.enums.MailOutboxStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    List<MailOutboxMessage> findAllByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            MailOutboxStatus status, Instant now, Pageable pageable);
+
+    long countByStatus(MailOutboxStatus status);
+}
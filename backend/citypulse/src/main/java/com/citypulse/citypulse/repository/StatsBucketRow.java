@@ -0,0 +1,12 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import java.time.Instant;
+
+public record StatsBucketRow(
+        Instant bucketStart,
+        ComplaintCategory category,
+        ComplaintSeverity severity,
+        Long count) {
+}
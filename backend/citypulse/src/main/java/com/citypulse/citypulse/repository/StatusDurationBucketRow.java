@@ -0,0 +1,9 @@
+package com.citypulse.citypulse.repository;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+
+/**
+ * Transitions of one category whose duration falls in log-scale bucket {@code bucket}, and the longest of them.
+ */
+public record StatusDurationBucketRow(ComplaintCategory category, Number bucket, Long transitions, Long maxSeconds) {
+}
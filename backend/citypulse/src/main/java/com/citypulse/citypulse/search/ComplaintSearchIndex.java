@@ -0,0 +1,334 @@
+package com.citypulse.citypulse.search;
+
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.event.ComplaintEvent;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.ComplaintSearchRow;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Embedded Lucene index over complaint titles, descriptions and addresses. Documents are replaced from committed
+ * {@link ComplaintEvent}s, so searches see a change as soon as its transaction commits; the index is committed to disk
+ * periodically and rebuilt from the database on demand or when it starts out empty.
+ */
+@Component
+public class ComplaintSearchIndex implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintSearchIndex.class);
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String ADDRESS = "address";
+    static final String STATUS = "status";
+    static final String CATEGORY = "category";
+    static final String SEVERITY = "severity";
+    static final String CANONICAL = "canonical";
+
+    private static final String[] HIGHLIGHT_FIELDS = {TITLE, DESCRIPTION, ADDRESS};
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 3f, ADDRESS, 2f, DESCRIPTION, 1f);
+
+    private final ComplaintRepository complaintRepository;
+    private final int rebuildBatchSize;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    // Replaced together, under writeLock, when a failed rebuild is rolled back.
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private final Object writeLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Queue<ComplaintSearchRow> updatedDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile boolean closing;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ComplaintSearchIndex(
+            ComplaintRepository complaintRepository,
+            @Value("${app.search.index-dir:data/search-index}") String indexDir,
+            @Value("${app.search.rebuild-batch-size:500}") int rebuildBatchSize) throws IOException {
+        this.complaintRepository = complaintRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+        if (indexDir.isBlank()) {
+            this.directory = new ByteBuffersDirectory();
+        } else {
+            Path path = Path.of(indexDir);
+            Files.createDirectories(path);
+            this.directory = FSDirectory.open(path);
+        }
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0 && complaintRepository.count() > 0) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Schedules a rebuild from the database unless one is already running. Searches keep using the previous index
+     * until the rebuild finishes. Returns false if a rebuild was already in progress.
+     */
+    public boolean requestRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.submit(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                log.error("Search index rebuild failed", ex);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /**
+     * Updates made by events while this runs are kept, but an event that commits between a row being read and being
+     * written here is overwritten with the older row until that complaint changes again. If the rebuild fails or is
+     * cut short by shutdown, the index is rolled back to the commit taken before it started.
+     */
+    private void rebuild() throws IOException {
+        long started = System.nanoTime();
+        updatedDuringRebuild.clear();
+        writer.commit();
+        long indexed = 0L;
+        try {
+            writer.deleteAll();
+            long lastId = 0L;
+            // Not interrupt-driven: interrupting a thread during IndexWriter I/O can close the underlying channels.
+            while (true) {
+                if (closing) {
+                    throw new IOException("Search index rebuild stopped by shutdown");
+                }
+                List<ComplaintSearchRow> rows =
+                        complaintRepository.findSearchRowsAfter(lastId, PageRequest.of(0, rebuildBatchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (ComplaintSearchRow row : rows) {
+                    writer.updateDocument(new Term(ID, row.id().toString()), toDocument(row));
+                }
+                indexed += rows.size();
+                lastId = rows.get(rows.size() - 1).id();
+            }
+            writer.commit();
+        } catch (IOException | RuntimeException ex) {
+            restore();
+            throw ex;
+        }
+        updatedDuringRebuild.clear();
+        searcherManager.maybeRefresh();
+        log.info("Rebuilt search index with {} complaints in {} ms", indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Discards the partial rebuild by rolling the writer back to its last commit, then reopens it and re-applies the
+     * event updates that arrived during the rebuild so they are not lost with it.
+     */
+    private void restore() throws IOException {
+        synchronized (writeLock) {
+            writer.rollback();
+            IndexWriter reopened = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            for (ComplaintSearchRow row : updatedDuringRebuild) {
+                reopened.updateDocument(new Term(ID, row.id().toString()), toDocument(row));
+            }
+            updatedDuringRebuild.clear();
+            SearcherManager previous = searcherManager;
+            writer = reopened;
+            searcherManager = new SearcherManager(reopened, null);
+            previous.close();
+        }
+        log.warn("Rolled back search index to its state before the rebuild");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onComplaintEvent(ComplaintEvent event) {
+        ComplaintSearchRow row = new ComplaintSearchRow(event.complaintId(), event.category(), event.severity(),
+                event.status(), event.title(), event.description(), event.address(), event.duplicateOfId());
+        try {
+            synchronized (writeLock) {
+                writer.updateDocument(new Term(ID, row.id().toString()), toDocument(row));
+                if (rebuilding.get()) {
+                    updatedDuringRebuild.add(row);
+                }
+            }
+            // While rebuilding, searches stay on the last complete index rather than a half-built one.
+            if (!rebuilding.get()) {
+                searcherManager.maybeRefresh();
+            }
+        } catch (IOException ex) {
+            log.warn("Could not index complaint {}", row.id(), ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:60000}")
+    public void commit() throws IOException {
+        synchronized (writeLock) {
+            if (writer.hasUncommittedChanges() && !rebuilding.get()) {
+                writer.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code text} (simple query syntax: terms, "phrases", prefix*, +required, -excluded) against titles,
+     * addresses and descriptions, restricted by the non-null filters, and returns one page of hits by relevance.
+     */
+    public SearchResult search(
+            String text, ComplaintStatus status, ComplaintCategory category, ComplaintSeverity severity,
+            boolean includeDuplicates, int offset, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text);
+        if (textQuery == null) {
+            return new SearchResult(0, List.of());
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        addFilter(builder, STATUS, status);
+        addFilter(builder, CATEGORY, category);
+        addFilter(builder, SEVERITY, severity);
+        if (!includeDuplicates) {
+            builder.add(new TermQuery(new Term(CANONICAL, "true")), BooleanClause.Occur.FILTER);
+        }
+        Query query = builder.build();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int total = searcher.count(query);
+                TopDocs top = searcher.search(query, Math.max(offset + limit, 1));
+                ScoreDoc[] page = top.scoreDocs.length > offset
+                        ? Arrays.copyOfRange(top.scoreDocs, offset, top.scoreDocs.length)
+                        : new ScoreDoc[0];
+                if (page.length == 0) {
+                    return new SearchResult(total, List.of());
+                }
+                TopDocs pageDocs = new TopDocs(top.totalHits, page);
+                UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                        .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", "… ", true))
+                        .build();
+                Map<String, String[]> highlights =
+                        highlighter.highlightFields(HIGHLIGHT_FIELDS, textQuery, pageDocs, new int[] {1, 2, 1});
+                List<Hit> hits = new ArrayList<>(page.length);
+                for (int i = 0; i < page.length; i++) {
+                    Long id = Long.valueOf(searcher.storedFields().document(page[i].doc).get(ID));
+                    Map<String, String> snippets = new LinkedHashMap<>();
+                    for (String field : HIGHLIGHT_FIELDS) {
+                        String snippet = highlights.get(field)[i];
+                        if (snippet != null) {
+                            snippets.put(field, snippet);
+                        }
+                    }
+                    hits.add(new Hit(id, page[i].score, snippets));
+                }
+                return new SearchResult(total, hits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void addFilter(BooleanQuery.Builder builder, String field, Enum<?> value) {
+        if (value != null) {
+            builder.add(new TermQuery(new Term(field, value.name())), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private static Document toDocument(ComplaintSearchRow row) {
+        Document document = new Document();
+        document.add(new StringField(ID, row.id().toString(), Field.Store.YES));
+        addText(document, TITLE, row.title());
+        addText(document, DESCRIPTION, row.description());
+        addText(document, ADDRESS, row.address());
+        document.add(new StringField(STATUS, row.status().name(), Field.Store.NO));
+        document.add(new StringField(CATEGORY, row.category().name(), Field.Store.NO));
+        document.add(new StringField(SEVERITY, row.severity().name(), Field.Store.NO));
+        document.add(new StringField(CANONICAL, Boolean.toString(row.duplicateOfId() == null), Field.Store.NO));
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            document.add(new TextField(field, value, Field.Store.YES));
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException, InterruptedException {
+        closing = true;
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public record Hit(Long complaintId, float score, Map<String, String> highlights) {
+    }
+
+    public record SearchResult(long totalHits, List<Hit> hits) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.citypulse.citypulse.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Verifies Auth0 id_tokens locally so a login does not need a round trip to {@code /userinfo}. The tenant's signing
+ * keys are cached and refreshed ahead of expiry on a background thread; a token signed with an unknown key triggers
+ * an early refresh, rate limited so forged tokens cannot hammer the JWKS endpoint.
+ */
+@Component
+public class Auth0IdTokenVerifier implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(Auth0IdTokenVerifier.class);
+
+    private final JWKSource<SecurityContext> keySource;
+    private final ConfigurableJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+
+    public Auth0IdTokenVerifier(
+            @Qualifier("auth0RestClient") RestClient auth0RestClient,
+            @Value("${auth0.base-url:https://${auth0.domain}}") String baseUrl,
+            @Value("${auth0.domain}") String domain,
+            @Value("${auth0.client-id}") String clientId,
+            @Value("${auth0.jwks.ttl:PT10M}") Duration ttl,
+            @Value("${auth0.jwks.refresh-ahead:PT1M}") Duration refreshAhead,
+            @Value("${auth0.jwks.min-refresh-interval:PT30S}") Duration minRefreshInterval) throws MalformedURLException {
+        URL jwksUrl = URI.create(baseUrl + "/.well-known/jwks.json").toURL();
+        // Outage tolerance keeps the last good key set usable while the tenant's JWKS endpoint is unreachable.
+        this.keySource = JWKSourceBuilder.<SecurityContext>create(jwksUrl, url -> retrieve(auth0RestClient, url))
+                .cache(ttl.toMillis(), JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(refreshAhead.toMillis(), true)
+                .rateLimited(minRefreshInterval.toMillis())
+                .outageTolerant(Duration.ofHours(12).toMillis())
+                .build();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, keySource));
+        processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+                clientId,
+                new JWTClaimsSet.Builder().issuer("https://" + domain + "/").build(),
+                Set.of("sub", "iat", "exp")));
+    }
+
+    /**
+     * Returns the claims of a valid id_token issued to this application.
+     *
+     * @throws IllegalArgumentException if the token is malformed, expired, not signed by the tenant or issued for a
+     *         different client
+     */
+    public JWTClaimsSet verify(String idToken) {
+        try {
+            return processor.process(idToken, null);
+        } catch (ParseException | BadJOSEException | JOSEException ex) {
+            log.warn("Rejected Auth0 id_token: {}", ex.getMessage());
+            throw new IllegalArgumentException("Invalid Auth0 login. Please try again.", ex);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (keySource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Resource retrieve(RestClient restClient, URL url) throws IOException {
+        try {
+            ResponseEntity<String> response = restClient.get().uri(url.toURI()).retrieve().toEntity(String.class);
+            String contentType = response.getHeaders().getContentType() != null
+                    ? response.getHeaders().getContentType().toString()
+                    : null;
+            return new Resource(response.getBody(), contentType);
+        } catch (RestClientException | URISyntaxException ex) {
+            throw new IOException("Unable to fetch Auth0 signing keys from " + url, ex);
+        }
+    }
+}
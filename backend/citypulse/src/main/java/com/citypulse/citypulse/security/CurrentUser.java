@@ -0,0 +1,17 @@
+package com.citypulse.citypulse.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated {@link com.citypulse.citypulse.entity.User} into a controller method, resolved from the
+ * id on {@link UserPrincipal} through the user cache rather than by email.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -1,24 +1,42 @@
 package com.citypulse.citypulse.security;
 
+import com.citypulse.citypulse.datasource.ReplicaRoutingDataSource;
 import com.citypulse.citypulse.entity.User;
 import com.citypulse.citypulse.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    // Read from the primary, like the other authentication lookups, so an account can log in right after registering.
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         return UserPrincipal.fromUser(user);
     }
+
+    /**
+     * Stores a password hash re-encoded with the current algorithm. Called after a successful login whose stored hash
+     * is in an older format, so the raw password never has to be kept around for a migration.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        return UserPrincipal.fromUser(userRepository.save(user));
+    }
 }
 
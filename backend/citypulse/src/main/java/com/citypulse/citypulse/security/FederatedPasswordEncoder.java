@@ -0,0 +1,25 @@
+package com.citypulse.citypulse.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Placeholder encoder for accounts that sign in through an external identity provider. They are stored with the
+ * password {@value #PASSWORD}, which costs nothing to create and never matches, so such accounts cannot log in with
+ * a password. Encoding yields the same unmatchable hash rather than failing.
+ */
+public final class FederatedPasswordEncoder implements PasswordEncoder {
+
+    public static final String ID = "federated";
+    public static final String PASSWORD = "{" + ID + "}";
+
+    // Empty, so a DelegatingPasswordEncoder prefixes it to exactly PASSWORD.
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return "";
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return false;
+    }
+}
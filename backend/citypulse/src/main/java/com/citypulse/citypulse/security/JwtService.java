@@ -1,13 +1,22 @@
 package com.citypulse.citypulse.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -15,14 +24,40 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
+    public static final String VERSION_CLAIM = "ver";
+
     private final Key signingKey;
     private final long expirationMillis;
+    // Tokens that already passed signature verification, keyed by SHA-256 of the token and expiring with its exp claim.
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms}") long expirationMillis) {
+            @Value("${app.jwt.expiration-ms}") long expirationMillis,
+            @Value("${app.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
         this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
         this.expirationMillis = expirationMillis;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0L, value.expiresAt().toEpochMilli() - System.currentTimeMillis()) * 1_000_000L;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateToken(UserDetails userDetails, Map<String, Object> extraClaims) {
@@ -36,18 +71,40 @@ public class JwtService {
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+    /**
+     * Verifies the token once and builds the principal from the claims embedded by {@code AuthService}, without
+     * loading the user. Repeat calls with the same token are served from the verified-token cache.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String cacheKey = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached.expiresAt().isAfter(Instant.now()) ? Optional.of(cached) : Optional.empty();
+        }
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        Number userId = claims.get("userId", Number.class);
+        if (userId == null || claims.getSubject() == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+        Number version = claims.get(VERSION_CLAIM, Number.class);
+        UserPrincipal principal = UserPrincipal.fromClaims(
+                userId.longValue(),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                Boolean.TRUE.equals(claims.get("isAdmin", Boolean.class)));
+        VerifiedToken verified = new VerifiedToken(
+                principal, version != null ? version.intValue() : 0, claims.getExpiration().toInstant());
+        verifiedTokens.put(cacheKey, verified);
+        return Optional.of(verified);
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = extractAllClaims(token).getExpiration();
-        return expiration.before(new Date());
+    public String extractUsername(String token) {
+        return extractAllClaims(token).getSubject();
     }
 
     private Claims extractAllClaims(String token) {
@@ -56,4 +113,16 @@ public class JwtService {
                 .parseClaimsJws(token)
                 .getBody();
     }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record VerifiedToken(UserPrincipal principal, int version, Instant expiresAt) {
+    }
 }
@@ -0,0 +1,44 @@
+package com.citypulse.citypulse.security;
+
+import com.citypulse.citypulse.datasource.ReplicaRoutingDataSource;
+import com.citypulse.citypulse.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tracks the current token version of each user. Tokens carry the version they were issued with, and bumping
+ * {@code users.token_version} invalidates every older token. Versions are cached briefly so the check does not cost a
+ * query per request; other instances observe a bump once their cached entry expires. Versions are read from the
+ * primary: a lagging replica would cache a revoked version, or no version for a user who just registered, for the
+ * whole TTL.
+ */
+@Service
+public class TokenVersionService {
+
+    private final LoadingCache<Long, Integer> versions;
+
+    public TokenVersionService(
+            UserRepository userRepository,
+            @Value("${app.jwt.version-cache-ttl-ms:300000}") long cacheTtlMillis) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .build(userId -> ReplicaRoutingDataSource.onPrimary(
+                        () -> userRepository.findTokenVersionById(userId).orElse(-1)));
+    }
+
+    /**
+     * Returns whether a token issued with {@code tokenVersion} is still current. Tokens of deleted users are rejected.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        return current != null && current >= 0 && tokenVersion >= current;
+    }
+
+    public void evict(Long userId) {
+        versions.invalidate(userId);
+    }
+}
@@ -1,6 +1,7 @@
 package com.citypulse.citypulse.security;
 
 import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.Role;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -34,6 +35,14 @@ public class UserPrincipal implements UserDetails {
                 List.of(authority));
     }
 
+    /**
+     * Builds a principal from verified JWT claims. Claim-based principals carry no password hash.
+     */
+    public static UserPrincipal fromClaims(Long id, String email, String role, boolean admin) {
+        String authority = role != null ? role : Role.ROLE_USER.name();
+        return new UserPrincipal(id, email, null, admin, List.of(new SimpleGrantedAuthority(authority)));
+    }
+
     public Long getId() {
         return id;
     }
@@ -2,34 +2,41 @@ package com.citypulse.citypulse.service;
 
 import com.citypulse.citypulse.dto.AuthResponse;
 import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.security.Auth0IdTokenVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.text.ParseException;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
+/**
+ * Completes the Auth0 authorization-code flow. The code is exchanged over the shared keep-alive client and the
+ * profile is read from the returned id_token, which is verified locally against the tenant's cached signing keys;
+ * {@code /userinfo} is only called when the token carries no email claim.
+ */
 @Service
-@RequiredArgsConstructor
 public class Auth0Service {
 
     private static final Logger log = LoggerFactory.getLogger(Auth0Service.class);
 
-    private final RestTemplateBuilder restTemplateBuilder;
+    private final RestClient restClient;
+    private final Auth0IdTokenVerifier idTokenVerifier;
     private final UserService userService;
     private final AuthService authService;
-
-    @Value("${auth0.domain}")
-    private String domain;
+    // Concurrent callbacks for the same account (double-clicks, several tabs) share one upsert.
+    private final Map<String, CompletableFuture<User>> pendingUpserts = new ConcurrentHashMap<>();
 
     @Value("${auth0.client-id}")
     private String clientId;
@@ -40,10 +47,18 @@ public class Auth0Service {
     @Value("${auth0.callback-url}")
     private String callbackUrl;
 
-    public AuthResponse handleCallback(String code) {
-        RestTemplate restTemplate = restTemplateBuilder.build();
-        String tokenEndpoint = "https://" + domain + "/oauth/token";
+    public Auth0Service(
+            @Qualifier("auth0RestClient") RestClient restClient,
+            Auth0IdTokenVerifier idTokenVerifier,
+            UserService userService,
+            AuthService authService) {
+        this.restClient = restClient;
+        this.idTokenVerifier = idTokenVerifier;
+        this.userService = userService;
+        this.authService = authService;
+    }
 
+    public AuthResponse handleCallback(String code) {
         MultiValueMap<String, String> requestBody = new LinkedMultiValueMap<>();
         requestBody.add("grant_type", "authorization_code");
         requestBody.add("client_id", clientId);
@@ -51,14 +66,14 @@ public class Auth0Service {
         requestBody.add("code", code);
         requestBody.add("redirect_uri", callbackUrl);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(requestBody, headers);
-
         Auth0TokenResponse tokenResponse;
         try {
-            tokenResponse = restTemplate.postForObject(tokenEndpoint, entity, Auth0TokenResponse.class);
+            tokenResponse = restClient.post()
+                    .uri("/oauth/token")
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(requestBody)
+                    .retrieve()
+                    .body(Auth0TokenResponse.class);
         } catch (RestClientException ex) {
             log.error("Failed to exchange Auth0 authorization code", ex);
             throw new IllegalArgumentException("Unable to complete Auth0 login. Please try again.");
@@ -68,29 +83,77 @@ public class Auth0Service {
             throw new IllegalArgumentException("Invalid Auth0 token response.");
         }
 
-        Auth0UserInfo userInfo = fetchUserInfo(restTemplate, tokenResponse.accessToken());
+        Auth0UserInfo userInfo = tokenResponse.id_token() != null ? fromIdToken(tokenResponse.id_token()) : null;
         if (userInfo == null || userInfo.email() == null) {
+            userInfo = fetchUserInfo(tokenResponse.accessToken());
+        }
+        if (userInfo == null || userInfo.sub() == null || userInfo.email() == null) {
             throw new IllegalArgumentException("Unable to retrieve user information from Auth0.");
         }
 
-        User user = userService.upsertAuth0User(userInfo.sub(), userInfo.email(), resolveName(userInfo));
+        User user = upsertUser(userInfo);
         return authService.buildAuthResponse(user);
     }
 
-    private Auth0UserInfo fetchUserInfo(RestTemplate restTemplate, String accessToken) {
-        String userInfoEndpoint = "https://" + domain + "/userinfo";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(accessToken);
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
+    private Auth0UserInfo fromIdToken(String idToken) {
+        JWTClaimsSet claims = idTokenVerifier.verify(idToken);
+        try {
+            return new Auth0UserInfo(
+                    claims.getSubject(),
+                    claims.getStringClaim("email"),
+                    claims.getBooleanClaim("email_verified"),
+                    claims.getStringClaim("name"),
+                    claims.getStringClaim("nickname"),
+                    null);
+        } catch (ParseException ex) {
+            throw new IllegalArgumentException("Invalid Auth0 id_token claims.", ex);
+        }
+    }
+
+    private Auth0UserInfo fetchUserInfo(String accessToken) {
         try {
-            return restTemplate.exchange(userInfoEndpoint, HttpMethod.GET, entity, Auth0UserInfo.class)
-                    .getBody();
+            return restClient.get()
+                    .uri("/userinfo")
+                    .headers(headers -> headers.setBearerAuth(accessToken))
+                    .retrieve()
+                    .body(Auth0UserInfo.class);
         } catch (RestClientException ex) {
             log.error("Failed to fetch Auth0 user profile", ex);
             throw new IllegalArgumentException("Unable to retrieve Auth0 user profile.");
         }
     }
 
+    private User upsertUser(Auth0UserInfo userInfo) {
+        CompletableFuture<User> upsert = new CompletableFuture<>();
+        CompletableFuture<User> pending = pendingUpserts.putIfAbsent(userInfo.sub(), upsert);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        try {
+            User user = upsertWithRetry(userInfo);
+            upsert.complete(user);
+            return user;
+        } catch (RuntimeException ex) {
+            upsert.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            pendingUpserts.remove(userInfo.sub(), upsert);
+        }
+    }
+
+    private User upsertWithRetry(Auth0UserInfo userInfo) {
+        try {
+            return userService.upsertAuth0User(userInfo.sub(), userInfo.email(), resolveName(userInfo));
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance created the account first; the retry finds and updates it.
+            return userService.upsertAuth0User(userInfo.sub(), userInfo.email(), resolveName(userInfo));
+        }
+    }
+
     private String resolveName(Auth0UserInfo userInfo) {
         if (userInfo.name() != null && !userInfo.name().isBlank()) {
             return userInfo.name();
@@ -122,4 +185,3 @@ public class Auth0Service {
             String nickname,
             Map<String, Object> extra) {}
 }
-
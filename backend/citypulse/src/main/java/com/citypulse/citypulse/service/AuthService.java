@@ -46,8 +46,9 @@ public class AuthService {
         return buildAuthResponse(user);
     }
 
-    private String generateToken(UserPrincipal principal) {
+    private String generateToken(UserPrincipal principal, int tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtService.VERSION_CLAIM, tokenVersion);
         claims.put("userId", principal.getId());
         claims.put("isAdmin", principal.isAdmin());
         claims.put("role", principal.getAuthorities().stream().findFirst().map(Object::toString).orElse("ROLE_USER"));
@@ -61,7 +62,7 @@ public class AuthService {
 
     public AuthResponse buildAuthResponse(User user) {
         UserPrincipal principal = UserPrincipal.fromUser(user);
-        String token = generateToken(principal);
+        String token = generateToken(principal, user.getTokenVersion());
         UserDto userDto = userMapper.toDto(user);
         return buildAuthResponse(token, userDto);
     }
@@ -0,0 +1,199 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.dto.ComplaintCluster;
+import com.citypulse.citypulse.dto.ComplaintClusterResponse;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.event.ComplaintEvent;
+import com.citypulse.citypulse.geo.BoundingBox;
+import com.citypulse.citypulse.geo.GeoHash;
+import com.citypulse.citypulse.repository.ComplaintCellCount;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.ComplaintSpecifications;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Aggregates open, non-duplicate complaints into map clusters, one per geohash cell. Cells are grouped into tiles (the cell's parent
+ * geohash) that are loaded with a single GROUP BY query, cached, and then kept current from {@link ComplaintEvent}s.
+ * The zoom level only selects the cell size, so the payload is bounded by the number of tiles in view rather than by
+ * the number of complaints.
+ */
+@Service
+public class ComplaintClusterService {
+
+    private static final int MIN_PRECISION = 2;
+    private static final int MAX_PRECISION = 9;
+    private static final int MAX_ZOOM = 22;
+
+    private final ComplaintRepository complaintRepository;
+    private final Cache<TileKey, Tile> tiles;
+    private final int maxTiles;
+
+    public ComplaintClusterService(
+            ComplaintRepository complaintRepository,
+            @Value("${app.clusters.max-tiles:32}") int maxTiles,
+            @Value("${app.clusters.cache-size:20000}") long cacheSize,
+            @Value("${app.clusters.tile-ttl:PT1H}") Duration tileTtl) {
+        this.complaintRepository = complaintRepository;
+        this.maxTiles = maxTiles;
+        // The TTL bounds drift from events that race with a tile load.
+        this.tiles = Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(tileTtl).build();
+    }
+
+    @Transactional(readOnly = true)
+    public ComplaintClusterResponse getClusters(BoundingBox box, int zoom) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("Zoom must be between 0 and " + MAX_ZOOM);
+        }
+        int precision = precisionForZoom(zoom);
+        while (precision > MIN_PRECISION && GeoHash.cellCount(box, precision - 1) > maxTiles) {
+            precision--;
+        }
+        int tilePrecision = precision - 1;
+        List<TileKey> keys = GeoHash.cells(box, tilePrecision).stream()
+                .map(hash -> new TileKey(tilePrecision, hash))
+                .toList();
+        Map<TileKey, Tile> loaded = tiles.getAll(keys, this::loadTiles);
+        List<ComplaintCluster> clusters = new ArrayList<>();
+        for (TileKey key : keys) {
+            Tile tile = loaded.get(key);
+            if (tile != null) {
+                tile.collect(box, clusters);
+            }
+        }
+        return new ComplaintClusterResponse(precision, clusters);
+    }
+
+    public void evictAll() {
+        tiles.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onComplaintEvent(ComplaintEvent event) {
+        if (event.latitude() == null || event.longitude() == null || event.duplicateOfId() != null) {
+            return;
+        }
+        int delta = openCount(event.status()) - openCount(event.previousStatus());
+        if (delta == 0) {
+            return;
+        }
+        double latitude = event.latitude().doubleValue();
+        double longitude = event.longitude().doubleValue();
+        String hash = GeoHash.encode(latitude, longitude, MAX_PRECISION);
+        for (int precision = MIN_PRECISION; precision <= MAX_PRECISION; precision++) {
+            Tile tile = tiles.getIfPresent(new TileKey(precision - 1, hash.substring(0, precision - 1)));
+            if (tile != null) {
+                tile.add(hash.substring(0, precision), event.category(), event.severity(),
+                        delta, latitude * delta, longitude * delta);
+            }
+        }
+    }
+
+    private Map<TileKey, Tile> loadTiles(Set<? extends TileKey> keys) {
+        Map<TileKey, Tile> loaded = new HashMap<>();
+        Map<Integer, List<String>> hashesByPrecision = keys.stream().collect(Collectors.groupingBy(
+                TileKey::precision, Collectors.mapping(TileKey::hash, Collectors.toList())));
+        hashesByPrecision.forEach((tilePrecision, hashes) -> {
+            for (String hash : hashes) {
+                loaded.put(new TileKey(tilePrecision, hash), new Tile());
+            }
+            List<ComplaintCellCount> counts = complaintRepository.countByCell(
+                    ComplaintSpecifications.isOpen()
+                            .and(ComplaintSpecifications.isCanonical())
+                            .and(ComplaintSpecifications.geohashStartsWithAny(hashes)),
+                    tilePrecision + 1);
+            for (ComplaintCellCount count : counts) {
+                Tile tile = loaded.get(new TileKey(tilePrecision, count.cell().substring(0, tilePrecision)));
+                tile.add(count.cell(), count.category(), count.severity(), count.count(),
+                        count.latitudeSum().doubleValue(), count.longitudeSum().doubleValue());
+            }
+        });
+        return loaded;
+    }
+
+    private static int precisionForZoom(int zoom) {
+        // Roughly four clusters across each 256px map tile.
+        double targetWidth = 360.0 / (1L << (zoom + 2));
+        for (int precision = MIN_PRECISION; precision < MAX_PRECISION; precision++) {
+            if (GeoHash.cellWidth(precision) <= targetWidth) {
+                return precision;
+            }
+        }
+        return MAX_PRECISION;
+    }
+
+    private static int openCount(ComplaintStatus status) {
+        return status != null && status.isOpen() ? 1 : 0;
+    }
+
+    private record TileKey(int precision, String hash) {
+    }
+
+    private static final class Tile {
+
+        private final Map<String, Cell> cells = new HashMap<>();
+
+        synchronized void add(
+                String hash, ComplaintCategory category, ComplaintSeverity severity,
+                long count, double latitudeSum, double longitudeSum) {
+            Cell cell = cells.computeIfAbsent(hash, ignored -> new Cell());
+            cell.categories[category.ordinal()] += count;
+            cell.severities[severity.ordinal()] += count;
+            cell.count += count;
+            cell.latitudeSum += latitudeSum;
+            cell.longitudeSum += longitudeSum;
+            if (cell.count <= 0) {
+                cells.remove(hash);
+            }
+        }
+
+        synchronized void collect(BoundingBox box, List<ComplaintCluster> clusters) {
+            cells.forEach((hash, cell) -> {
+                double latitude = cell.latitudeSum / cell.count;
+                double longitude = cell.longitudeSum / cell.count;
+                if (latitude >= box.minLatitude() && latitude <= box.maxLatitude()
+                        && longitude >= box.minLongitude() && longitude <= box.maxLongitude()) {
+                    clusters.add(new ComplaintCluster(
+                            hash, latitude, longitude, cell.count,
+                            nonZero(cell.categories, ComplaintCategory.class),
+                            nonZero(cell.severities, ComplaintSeverity.class)));
+                }
+            });
+        }
+
+        private static <E extends Enum<E>> Map<E, Long> nonZero(long[] counts, Class<E> type) {
+            Map<E, Long> result = new EnumMap<>(type);
+            E[] constants = type.getEnumConstants();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    result.put(constants[i], counts[i]);
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class Cell {
+
+        private final long[] categories = new long[ComplaintCategory.values().length];
+        private final long[] severities = new long[ComplaintSeverity.values().length];
+        private long count;
+        private double latitudeSum;
+        private double longitudeSum;
+    }
+}
@@ -0,0 +1,145 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.dto.StatusEventResponse;
+import com.citypulse.citypulse.dto.StatusTransitionSla;
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.entity.ComplaintStatusEvent;
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.repository.ComplaintStatusEventRepository;
+import com.citypulse.citypulse.repository.StatusDurationBucketRow;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes and reads the {@code complaint_status_events} timeline. Events are recorded in the caller's transaction
+ * and flushed with the rest of the unit of work as one JDBC batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class ComplaintHistoryService {
+
+    private final ComplaintStatusEventRepository statusEventRepository;
+
+    /**
+     * Records the initial status of a newly saved complaint.
+     */
+    public void recordSubmission(Complaint complaint, User reporter) {
+        Instant submittedAt = complaint.getStatusChangedAt() != null ? complaint.getStatusChangedAt() : Instant.now();
+        statusEventRepository.save(event(complaint, null, reporter, submittedAt, null));
+    }
+
+    /**
+     * Records that {@code complaint} has just moved from {@code fromStatus} to its current status and stamps
+     * {@link Complaint#getStatusChangedAt()}. Call after the new status has been set.
+     */
+    public void recordTransition(Complaint complaint, ComplaintStatus fromStatus, User changedBy) {
+        Instant now = Instant.now();
+        Instant enteredPrevious = complaint.getStatusChangedAt() != null
+                ? complaint.getStatusChangedAt()
+                : complaint.getCreatedAt();
+        Long secondsInPrevious = enteredPrevious != null
+                ? Math.max(0, Duration.between(enteredPrevious, now).getSeconds())
+                : null;
+        statusEventRepository.save(event(complaint, fromStatus, changedBy, now, secondsInPrevious));
+        complaint.setStatusChangedAt(now);
+    }
+
+    private static ComplaintStatusEvent event(
+            Complaint complaint, ComplaintStatus fromStatus, User changedBy, Instant occurredAt,
+            Long secondsInPrevious) {
+        return ComplaintStatusEvent.builder()
+                .complaintId(complaint.getId())
+                .fromStatus(fromStatus)
+                .toStatus(complaint.getStatus())
+                .category(complaint.getCategory())
+                .notes(complaint.getStatusNotes())
+                .changedBy(changedBy != null ? changedBy.getUsername() : null)
+                .occurredAt(occurredAt)
+                .secondsInPrevious(secondsInPrevious)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<StatusEventResponse> getTimeline(Long complaintId) {
+        return statusEventRepository.findAllByComplaintIdOrderByOccurredAtAscIdAsc(complaintId).stream()
+                .map(event -> new StatusEventResponse(
+                        event.getFromStatus(),
+                        event.getToStatus(),
+                        event.getNotes(),
+                        event.getChangedBy(),
+                        event.getOccurredAt(),
+                        event.getSecondsInPrevious()))
+                .toList();
+    }
+
+    /**
+     * Percentiles of the time complaints spent in {@code from} before moving to {@code to}, overall and per category.
+     * The database returns a log-scale histogram, so each percentile is the longest duration in its bucket and is
+     * within 10% of the exact value; the maximum is exact.
+     */
+    @Transactional(readOnly = true)
+    public List<StatusTransitionSla> getTransitionSla(
+            ComplaintStatus from, ComplaintStatus to, ComplaintCategory category, Instant since) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to statuses are required.");
+        }
+        List<StatusDurationBucketRow> rows = category != null
+                ? statusEventRepository.findDurationHistogram(from, to, category, since)
+                : statusEventRepository.findDurationHistogram(from, to, since);
+        Map<ComplaintCategory, NavigableMap<Integer, long[]>> byCategory = new EnumMap<>(ComplaintCategory.class);
+        NavigableMap<Integer, long[]> all = new TreeMap<>();
+        for (StatusDurationBucketRow row : rows) {
+            int bucket = row.bucket().intValue();
+            add(all, bucket, row);
+            add(byCategory.computeIfAbsent(row.category(), ignored -> new TreeMap<>()), bucket, row);
+        }
+        List<StatusTransitionSla> result = new ArrayList<>();
+        result.add(summarize(null, all));
+        byCategory.forEach((rowCategory, histogram) -> result.add(summarize(rowCategory, histogram)));
+        return result;
+    }
+
+    // Each histogram entry is {transitions, maxSeconds}.
+    private static void add(NavigableMap<Integer, long[]> histogram, int bucket, StatusDurationBucketRow row) {
+        long[] entry = histogram.computeIfAbsent(bucket, ignored -> new long[2]);
+        entry[0] += row.transitions();
+        entry[1] = Math.max(entry[1], row.maxSeconds());
+    }
+
+    private static StatusTransitionSla summarize(ComplaintCategory category, NavigableMap<Integer, long[]> histogram) {
+        long transitions = histogram.values().stream().mapToLong(entry -> entry[0]).sum();
+        return new StatusTransitionSla(
+                category,
+                transitions,
+                percentile(histogram, transitions, 0.50),
+                percentile(histogram, transitions, 0.90),
+                percentile(histogram, transitions, 0.99),
+                histogram.isEmpty() ? 0 : histogram.lastEntry().getValue()[1]);
+    }
+
+    private static long percentile(NavigableMap<Integer, long[]> histogram, long transitions, double quantile) {
+        if (transitions == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * transitions));
+        long seen = 0;
+        for (long[] entry : histogram.values()) {
+            seen += entry[0];
+            if (seen >= rank) {
+                return entry[1];
+            }
+        }
+        return histogram.lastEntry().getValue()[1];
+    }
+}
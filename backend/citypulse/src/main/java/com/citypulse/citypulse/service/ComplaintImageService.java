@@ -0,0 +1,72 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.enums.ImageVariant;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.storage.ComplaintImage;
+import com.citypulse.citypulse.storage.ComplaintImageRef;
+import com.citypulse.citypulse.storage.ImageStore;
+import com.citypulse.citypulse.storage.ImageVariantCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ComplaintImageService {
+
+    private final ComplaintRepository complaintRepository;
+    private final ImageStore imageStore;
+    private final ImageVariantCache variantCache;
+    private final ImageVariantService imageVariantService;
+    // A complaint's image never changes once stored, so id -> key mappings can be cached without invalidation.
+    private final Cache<Long, ComplaintImageRef> imageRefs;
+
+    public ComplaintImageService(
+            ComplaintRepository complaintRepository,
+            ImageStore imageStore,
+            ImageVariantCache variantCache,
+            ImageVariantService imageVariantService,
+            @Value("${app.images.ref-cache-size:10000}") long refCacheSize) {
+        this.complaintRepository = complaintRepository;
+        this.imageStore = imageStore;
+        this.variantCache = variantCache;
+        this.imageVariantService = imageVariantService;
+        this.imageRefs = Caffeine.newBuilder().maximumSize(refCacheSize).build();
+    }
+
+    public Optional<ComplaintImage> getComplaintImage(Long id, ImageVariant variant) {
+        ComplaintImageRef ref = imageRefs.getIfPresent(id);
+        if (ref == null) {
+            ref = complaintRepository.findImageRefById(id).orElse(null);
+            if (ref == null) {
+                return getLegacyImage(id);
+            }
+            imageRefs.put(id, ref);
+        }
+        if (variant != null) {
+            String key = ref.key();
+            Optional<Resource> variantResource = variantCache.load(key, variant);
+            if (variantResource.isPresent()) {
+                String etag = "\"" + key + "-" + variant.name().toLowerCase(Locale.ROOT) + "\"";
+                return Optional.of(new ComplaintImage(variantResource.get(), MediaType.IMAGE_JPEG_VALUE, etag, true));
+            }
+            imageVariantService.requestVariant(key, variant);
+        }
+        String contentType = ref.contentType();
+        String etag = "\"" + ref.key() + "\"";
+        boolean immutable = variant == null;
+        return imageStore.load(ref.key()).map(resource -> new ComplaintImage(resource, contentType, etag, immutable));
+    }
+
+    private Optional<ComplaintImage> getLegacyImage(Long id) {
+        return complaintRepository.findById(id)
+                .filter(complaint -> complaint.getImage() != null && complaint.getImage().length > 0)
+                .map(complaint -> new ComplaintImage(
+                        new ByteArrayResource(complaint.getImage()), complaint.getImageContentType(), null, false));
+    }
+}
@@ -0,0 +1,73 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.event.ComplaintEvent;
+import com.citypulse.citypulse.event.UserUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mapped complaint responses kept for polling clients, so a repeated read neither queries nor maps the complaint.
+ * Entries are dropped when a {@link ComplaintEvent} for the complaint or a {@link UserUpdatedEvent} for its reporter
+ * commits. Other instances' changes are only
+ * picked up when the entry expires, which the TTL bounds.
+ */
+@Service
+public class ComplaintResponseCache {
+
+    private final ComplaintService complaintService;
+    private final Cache<Long, ComplaintResponse> responses;
+
+    public ComplaintResponseCache(
+            ComplaintService complaintService,
+            @Value("${app.complaints.response-cache.max-size:10000}") long maxSize,
+            @Value("${app.complaints.response-cache.ttl:PT1M}") Duration ttl) {
+        this.complaintService = complaintService;
+        this.responses = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * Returns the complaint if it was reported by {@code userId}. Not run in a transaction, so a cache hit does not
+     * touch the connection pool.
+     */
+    public ComplaintResponse getForUser(Long id, Long userId) {
+        // An invalidation that races with a load waits for it and then drops the result, so stale reads are not kept.
+        ComplaintResponse response = responses.get(id, complaintService::getComplaint);
+        if (response.reporter() == null || !Objects.equals(response.reporter().id(), userId)) {
+            throw new IllegalArgumentException("Complaint not found.");
+        }
+        return response;
+    }
+
+    /**
+     * A weak ETag for the complaint; {@code updatedAt} changes with every write to the row, and the reporter's
+     * {@code updatedAt} with every change to the embedded reporter.
+     */
+    public static String etag(ComplaintResponse response) {
+        Instant version = response.updatedAt() != null ? response.updatedAt() : response.createdAt();
+        Instant reporterVersion = response.reporter() != null ? response.reporter().updatedAt() : null;
+        return "W/\"" + response.id() + "-" + millis(version) + "-" + millis(reporterVersion) + "\"";
+    }
+
+    private static long millis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : 0L;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onComplaintEvent(ComplaintEvent event) {
+        responses.invalidate(event.complaintId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        responses.asMap().values().removeIf(response ->
+                response.reporter() != null && Objects.equals(response.reporter().id(), event.userId()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.dto.ComplaintSearchHit;
+import com.citypulse.citypulse.dto.ComplaintSearchResponse;
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.mapper.ComplaintMapper;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.search.ComplaintSearchIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+@Service
+public class ComplaintSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ComplaintSearchIndex searchIndex;
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintMapper complaintMapper;
+    private final int maxResults;
+
+    public ComplaintSearchService(
+            ComplaintSearchIndex searchIndex,
+            ComplaintRepository complaintRepository,
+            ComplaintMapper complaintMapper,
+            @Value("${app.search.max-results:1000}") int maxResults) {
+        this.searchIndex = searchIndex;
+        this.complaintRepository = complaintRepository;
+        this.complaintMapper = complaintMapper;
+        this.maxResults = maxResults;
+    }
+
+    @Transactional(readOnly = true)
+    public ComplaintSearchResponse search(
+            String query, ComplaintStatus status, ComplaintCategory category, ComplaintSeverity severity,
+            boolean includeDuplicates, int page, int size) {
+        if (!StringUtils.hasText(query)) {
+            throw new IllegalArgumentException("Search query must not be empty.");
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if ((long) (page + 1) * size > maxResults) {
+            throw new IllegalArgumentException("Only the first " + maxResults + " results can be paged through.");
+        }
+        ComplaintSearchIndex.SearchResult result =
+                searchIndex.search(query, status, category, severity, includeDuplicates, page * size, size);
+
+        // The index only holds ids and text; the current complaint state comes from the database.
+        Map<Long, Complaint> complaints = complaintRepository
+                .findAllByIdIn(result.hits().stream().map(ComplaintSearchIndex.Hit::complaintId).toList())
+                .stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+        List<ComplaintSearchHit> hits = new ArrayList<>(result.hits().size());
+        for (ComplaintSearchIndex.Hit hit : result.hits()) {
+            Complaint complaint = complaints.get(hit.complaintId());
+            if (complaint != null) {
+                ComplaintResponse response = complaintMapper.toDto(complaint);
+                hits.add(new ComplaintSearchHit(response, hit.score(), hit.highlights()));
+            }
+        }
+        return new ComplaintSearchResponse(query, result.totalHits(), page, size, hits);
+    }
+
+    public boolean rebuildIndex() {
+        return searchIndex.requestRebuild();
+    }
+}
@@ -1,32 +1,65 @@
 package com.citypulse.citypulse.service;
 
+import com.citypulse.citypulse.dto.BulkStatusUpdateRequest;
+import com.citypulse.citypulse.dto.BulkStatusUpdateResponse;
+import com.citypulse.citypulse.dto.BulkStatusUpdateResult;
+import com.citypulse.citypulse.dto.ComplaintFilter;
+import com.citypulse.citypulse.dto.CursorPage;
 import com.citypulse.citypulse.dto.ComplaintRequest;
 import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.dto.StatusEventResponse;
 import com.citypulse.citypulse.dto.StatusUpdateRequest;
 import com.citypulse.citypulse.entity.Complaint;
 import com.citypulse.citypulse.entity.User;
-import com.citypulse.citypulse.enums.ComplaintCategory;
-import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.BulkUpdateOutcome;
 import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.event.ComplaintEvent;
+import com.citypulse.citypulse.geo.BoundingBox;
+import com.citypulse.citypulse.geo.GeoHash;
 import com.citypulse.citypulse.mapper.ComplaintMapper;
+import com.citypulse.citypulse.repository.ComplaintCursor;
 import com.citypulse.citypulse.repository.ComplaintRepository;
-import jakarta.transaction.Transactional;
+import com.citypulse.citypulse.repository.ComplaintSpecifications;
+import com.citypulse.citypulse.repository.ComplaintVersion;
+import com.citypulse.citypulse.storage.ImageStore;
+import com.citypulse.citypulse.storage.StoredImage;
+import com.citypulse.citypulse.tx.TransactionCallbacks;
 import java.math.BigDecimal;
 import java.io.IOException;
-import java.util.Optional;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 @RequiredArgsConstructor
 public class ComplaintService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final double MAX_RADIUS_METERS = 50_000;
+
     private final ComplaintRepository complaintRepository;
     private final ComplaintMapper complaintMapper;
     private final MailService mailService;
+    private final ImageStore imageStore;
+    private final ImageVariantService imageVariantService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateComplaintDetector duplicateDetector;
+    private final ComplaintHistoryService historyService;
 
     @Transactional
     public ComplaintResponse submitComplaint(User reporter, ComplaintRequest request, MultipartFile imageFile) {
@@ -42,10 +75,22 @@ public class ComplaintService {
         complaint.setAddress(request.address());
         complaint.setLatitude(request.latitude() != null ? BigDecimal.valueOf(request.latitude()) : null);
         complaint.setLongitude(request.longitude() != null ? BigDecimal.valueOf(request.longitude()) : null);
+        if (request.latitude() != null && request.longitude() != null) {
+            complaint.setGeohash(GeoHash.encode(request.latitude(), request.longitude(), GeoHash.MAX_PRECISION));
+        }
         complaint.setStatus(ComplaintStatus.SUBMITTED);
+        complaint.setStatusChangedAt(Instant.now());
         if (imageFile != null && !imageFile.isEmpty()) {
-            try {
-                complaint.setImage(imageFile.getBytes());
+            try (InputStream header = imageFile.getInputStream()) {
+                imageVariantService.checkDimensions(header);
+            } catch (IOException ex) {
+                throw new IllegalArgumentException("Failed to read uploaded image", ex);
+            }
+            try (InputStream content = imageFile.getInputStream()) {
+                StoredImage storedImage = imageStore.store(content);
+                TransactionCallbacks.afterCommit(() -> imageVariantService.generateVariants(storedImage.key()));
+                complaint.setImageKey(storedImage.key());
+                complaint.setImageSize(storedImage.size());
                 complaint.setImageContentType(imageFile.getContentType());
             } catch (IOException ex) {
                 throw new IllegalArgumentException("Failed to read uploaded image", ex);
@@ -53,66 +98,205 @@ public class ComplaintService {
         }
 
         Complaint saved = complaintRepository.save(complaint);
-        mailService.sendComplaintSubmissionEmail(saved);
+        duplicateDetector.claim(saved).ifPresent(saved::setDuplicateOfId);
+        historyService.recordSubmission(saved, reporter);
+        if (saved.getDuplicateOfId() != null) {
+            mailService.sendDuplicateComplaintEmail(saved);
+        } else {
+            mailService.sendComplaintSubmissionEmail(saved);
+        }
+        eventPublisher.publishEvent(ComplaintEvent.submitted(saved));
         return complaintMapper.toDto(saved);
     }
 
+    @Transactional(readOnly = true)
     public Page<ComplaintResponse> getComplaintsForUser(Long userId, Pageable pageable) {
-        return complaintRepository.findAllByUserId(userId, pageable)
+        return complaintRepository.findRows(ComplaintSpecifications.hasReporter(userId), pageable)
                 .map(complaintMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
+    public ComplaintResponse getComplaint(Long id) {
+        return complaintRepository.findRow(ComplaintSpecifications.hasId(id))
+                .map(complaintMapper::toDto)
+                .orElseThrow(() -> new IllegalArgumentException("Complaint not found."));
+    }
+
+    @Transactional(readOnly = true)
     public ComplaintResponse getComplaintForUser(Long id, Long userId) {
-        Complaint complaint = complaintRepository.findByIdAndUserId(id, userId)
+        return complaintRepository.findRow(ComplaintSpecifications.hasId(id).and(ComplaintSpecifications.hasReporter(userId)))
+                .map(complaintMapper::toDto)
                 .orElseThrow(() -> new IllegalArgumentException("Complaint not found."));
-        return complaintMapper.toDto(complaint);
     }
 
-    public Optional<Complaint> getComplaintWithImage(Long id) {
-        return complaintRepository.findById(id)
-                .filter(complaint -> complaint.getImage() != null);
+    /**
+     * Digest of the user's complaints, cheap enough to answer a conditional list request before loading any rows.
+     */
+    @Transactional(readOnly = true)
+    public ComplaintVersion getVersionForUser(Long userId) {
+        return complaintRepository.findVersion(ComplaintSpecifications.hasReporter(userId));
     }
 
-    public Page<ComplaintResponse> getComplaintsForAdmin(
-            ComplaintStatus status, ComplaintCategory category, ComplaintSeverity severity, Pageable pageable) {
-        if (status != null && category != null && severity != null) {
-            return complaintRepository
-                    .findAllByStatusAndCategoryAndSeverity(status, category, severity, pageable)
-                    .map(complaintMapper::toDto);
-        }
-        if (status != null && category != null) {
-            return complaintRepository.findAllByStatusAndCategory(status, category, pageable).map(complaintMapper::toDto);
-        }
-        if (status != null && severity != null) {
-            return complaintRepository.findAllByStatusAndSeverity(status, severity, pageable).map(complaintMapper::toDto);
-        }
-        if (category != null && severity != null) {
-            return complaintRepository
-                    .findAllByCategoryAndSeverity(category, severity, pageable)
-                    .map(complaintMapper::toDto);
+    @Transactional(readOnly = true)
+    public ComplaintVersion getVersionForAdmin(ComplaintFilter filter) {
+        return complaintRepository.findVersion(ComplaintSpecifications.matching(filter));
+    }
+
+    @Transactional(readOnly = true)
+    public List<StatusEventResponse> getHistoryForUser(Long id, Long userId) {
+        if (!complaintRepository.exists(
+                ComplaintSpecifications.hasId(id).and(ComplaintSpecifications.hasReporter(userId)))) {
+            throw new IllegalArgumentException("Complaint not found.");
         }
-        if (status != null) {
-            return complaintRepository.findAllByStatus(status, pageable).map(complaintMapper::toDto);
+        return historyService.getTimeline(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StatusEventResponse> getHistory(Long id) {
+        if (!complaintRepository.existsById(id)) {
+            throw new IllegalArgumentException("Complaint not found.");
         }
-        if (category != null) {
-            return complaintRepository.findAllByCategory(category, pageable).map(complaintMapper::toDto);
+        return historyService.getTimeline(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ComplaintResponse> getComplaintsForAdmin(ComplaintFilter filter, Pageable pageable) {
+        return complaintRepository.findRows(ComplaintSpecifications.matching(filter), pageable)
+                .map(complaintMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ComplaintResponse> getComplaintsWithin(ComplaintFilter filter, BoundingBox box, Pageable pageable) {
+        return complaintRepository.findRows(
+                        ComplaintSpecifications.matching(filter).and(ComplaintSpecifications.withinBoundingBox(box)),
+                        pageable)
+                .map(complaintMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ComplaintResponse> getComplaintsNearby(
+            ComplaintFilter filter, double latitude, double longitude, double radiusMeters, Pageable pageable) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates.");
         }
-        if (severity != null) {
-            return complaintRepository.findAllBySeverity(severity, pageable).map(complaintMapper::toDto);
+        if (radiusMeters <= 0 || radiusMeters > MAX_RADIUS_METERS) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (int) MAX_RADIUS_METERS + " meters.");
         }
+        Specification<Complaint> nearby = ComplaintSpecifications.withinRadius(latitude, longitude, radiusMeters);
+        return complaintRepository.findRows(ComplaintSpecifications.matching(filter).and(nearby), pageable)
+                .map(complaintMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ComplaintResponse> scrollComplaintsForUser(
+            Long userId, String cursor, int size, boolean includeTotal) {
+        return scroll(ComplaintSpecifications.hasReporter(userId), cursor, size, includeTotal);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ComplaintResponse> scrollComplaintsForAdmin(
+            ComplaintFilter filter, String cursor, int size, boolean includeTotal) {
+        return scroll(ComplaintSpecifications.matching(filter), cursor, size, includeTotal);
+    }
 
-        return complaintRepository.findAll(pageable).map(complaintMapper::toDto);
+    private CursorPage<ComplaintResponse> scroll(
+            Specification<Complaint> specification, String cursor, int size, boolean includeTotal) {
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+        Specification<Complaint> pageSpecification = StringUtils.hasText(cursor)
+                ? specification.and(ComplaintSpecifications.after(ComplaintCursor.decode(cursor)))
+                : specification;
+        // Fetch one extra row to learn whether another page exists without running a COUNT.
+        List<ComplaintResponse> rows = complaintRepository
+                .findRows(pageSpecification, ComplaintCursor.SORT, limit + 1)
+                .stream()
+                .map(complaintMapper::toDto)
+                .toList();
+        boolean hasNext = rows.size() > limit;
+        List<ComplaintResponse> content = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? ComplaintCursor.of(content.get(content.size() - 1)).encode() : null;
+        Long total = includeTotal ? complaintRepository.count(specification) : null;
+        return new CursorPage<>(content, nextCursor, hasNext, total);
     }
 
     @Transactional
     public ComplaintResponse updateStatus(Long complaintId, StatusUpdateRequest request, User admin) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new IllegalArgumentException("Complaint not found."));
+        ComplaintStatus previousStatus = complaint.getStatus();
         complaint.setStatus(request.status());
         complaint.setStatusNotes(request.notes());
         Complaint updated = complaintRepository.save(complaint);
+        historyService.recordTransition(updated, previousStatus, admin);
         mailService.sendStatusUpdateEmail(updated, admin);
+        eventPublisher.publishEvent(ComplaintEvent.statusChanged(updated, previousStatus));
+        // Repeat reports follow the complaint they were linked to, unless they already carry this status update.
+        for (Complaint duplicate : complaintRepository.findAllByDuplicateOfId(updated.getId())) {
+            if (hasStatus(duplicate, request.status(), request.notes())) {
+                continue;
+            }
+            ComplaintStatus duplicatePreviousStatus = duplicate.getStatus();
+            duplicate.setStatus(request.status());
+            duplicate.setStatusNotes(request.notes());
+            historyService.recordTransition(duplicate, duplicatePreviousStatus, admin);
+            mailService.sendStatusUpdateEmail(duplicate, admin);
+            eventPublisher.publishEvent(ComplaintEvent.statusChanged(duplicate, duplicatePreviousStatus));
+        }
         return complaintMapper.toDto(updated);
     }
-}
 
+    /**
+     * Applies one status change to many complaints in a single transaction. Complaints and their linked duplicates
+     * are loaded with two queries, the updates and history rows are flushed as JDBC batches, and the notification
+     * emails are queued with one batch insert for {@link MailDispatcher} to deliver.
+     */
+    @Transactional
+    public BulkStatusUpdateResponse bulkUpdateStatus(BulkStatusUpdateRequest request, User admin) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.ids()));
+        Map<Long, Complaint> complaints = complaintRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Complaint::getId, Function.identity()));
+        List<BulkStatusUpdateResult> results = new ArrayList<>(ids.size());
+        List<Complaint> changed = new ArrayList<>();
+        for (Long id : ids) {
+            Complaint complaint = complaints.get(id);
+            if (complaint == null) {
+                results.add(new BulkStatusUpdateResult(id, BulkUpdateOutcome.NOT_FOUND, null));
+                continue;
+            }
+            ComplaintStatus previousStatus = complaint.getStatus();
+            if (hasStatus(complaint, request.status(), request.notes())) {
+                results.add(new BulkStatusUpdateResult(id, BulkUpdateOutcome.UNCHANGED, previousStatus));
+                continue;
+            }
+            applyStatus(complaint, request, admin);
+            changed.add(complaint);
+            results.add(new BulkStatusUpdateResult(id, BulkUpdateOutcome.UPDATED, previousStatus));
+        }
+        if (!changed.isEmpty()) {
+            List<Complaint> duplicates = complaintRepository.findAllByDuplicateOfIdIn(
+                    changed.stream().map(Complaint::getId).toList());
+            for (Complaint duplicate : duplicates) {
+                if (!complaints.containsKey(duplicate.getId())
+                        && !hasStatus(duplicate, request.status(), request.notes())) {
+                    applyStatus(duplicate, request, admin);
+                    changed.add(duplicate);
+                }
+            }
+            mailService.sendStatusUpdateEmails(changed, admin);
+        }
+        int updated = (int) results.stream().filter(result -> result.outcome() == BulkUpdateOutcome.UPDATED).count();
+        int notFound = (int) results.stream().filter(result -> result.outcome() == BulkUpdateOutcome.NOT_FOUND).count();
+        return new BulkStatusUpdateResponse(updated, results.size() - updated - notFound, notFound, results);
+    }
+
+    private static boolean hasStatus(Complaint complaint, ComplaintStatus status, String notes) {
+        return complaint.getStatus() == status && Objects.equals(complaint.getStatusNotes(), notes);
+    }
+
+    private void applyStatus(Complaint complaint, BulkStatusUpdateRequest request, User admin) {
+        ComplaintStatus previousStatus = complaint.getStatus();
+        complaint.setStatus(request.status());
+        complaint.setStatusNotes(request.notes());
+        historyService.recordTransition(complaint, previousStatus, admin);
+        eventPublisher.publishEvent(ComplaintEvent.statusChanged(complaint, previousStatus));
+    }
+}
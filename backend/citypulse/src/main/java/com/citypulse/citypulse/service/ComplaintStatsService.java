@@ -0,0 +1,359 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.dto.ComplaintStatsBucket;
+import com.citypulse.citypulse.dto.ComplaintStatsResponse;
+import com.citypulse.citypulse.dto.ResolutionTimeStats;
+import com.citypulse.citypulse.entity.ComplaintStatsRollup;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintEventType;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.enums.StatsGranularity;
+import com.citypulse.citypulse.event.ComplaintEvent;
+import com.citypulse.citypulse.repository.ComplaintCountRow;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.ComplaintStatsRollupRepository;
+import com.citypulse.citypulse.repository.ComplaintStatusEventRepository;
+import com.citypulse.citypulse.repository.HistogramBucketRow;
+import com.citypulse.citypulse.repository.StatsBucketRow;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Serves dashboard statistics from memory. Totals and the current hour/day buckets are bumped by committed
+ * {@link ComplaintEvent}s; a periodic reconcile recomputes the recent hourly and daily rollups with grouped queries,
+ * persists them to {@code complaint_stats_rollups}, and replaces the in-memory state with the database's.
+ * Resolutions are transitions into RESOLVED as recorded in {@code complaint_status_events}, both here and in the
+ * reconcile, so a complaint that is reopened and resolved again counts as two resolutions. Days are UTC.
+ */
+@Service
+public class ComplaintStatsService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintStatsService.class);
+
+    // Must match the base of ComplaintStatusEventRepository#resolutionHistogram.
+    private static final double HISTOGRAM_BASE = 1.1;
+    private static final int HISTOGRAM_BUCKETS = 200;
+
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintStatsRollupRepository rollupRepository;
+    private final ComplaintStatusEventRepository statusEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int seriesDays;
+    private final int hourlyBuckets;
+
+    // Held for a whole reconcile, so two runs never delete and re-insert the same rollup rows at once.
+    private final Object reconcileLock = new Object();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stats-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // All state below is guarded by this.
+    private final long[] byStatus = new long[ComplaintStatus.values().length];
+    private final long[] byCategory = new long[ComplaintCategory.values().length];
+    private final long[] bySeverity = new long[ComplaintSeverity.values().length];
+    private final NavigableMap<Instant, long[]> daily = new TreeMap<>();
+    private final NavigableMap<Instant, long[]> hourly = new TreeMap<>();
+    private long[] resolutionHistogram = new long[HISTOGRAM_BUCKETS];
+    private Instant reconciledAt;
+
+    public ComplaintStatsService(
+            ComplaintRepository complaintRepository,
+            ComplaintStatsRollupRepository rollupRepository,
+            ComplaintStatusEventRepository statusEventRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.stats.series-days:90}") int seriesDays,
+            @Value("${app.stats.hourly-buckets:48}") int hourlyBuckets) {
+        this.complaintRepository = complaintRepository;
+        this.rollupRepository = rollupRepository;
+        this.statusEventRepository = statusEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.seriesDays = seriesDays;
+        this.hourlyBuckets = hourlyBuckets;
+    }
+
+    public synchronized ComplaintStatsResponse getStats(int days) {
+        int windowDays = Math.min(Math.max(days, 1), seriesDays);
+        Instant now = Instant.now();
+        Instant today = now.truncatedTo(ChronoUnit.DAYS);
+        Instant currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        long total = 0;
+        for (long count : byStatus) {
+            total += count;
+        }
+        return new ComplaintStatsResponse(
+                total,
+                toMap(byStatus, ComplaintStatus.class),
+                toMap(byCategory, ComplaintCategory.class),
+                toMap(bySeverity, ComplaintSeverity.class),
+                series(daily, today.minus(windowDays - 1, ChronoUnit.DAYS), today, ChronoUnit.DAYS),
+                series(hourly, currentHour.minus(hourlyBuckets - 1, ChronoUnit.HOURS), currentHour, ChronoUnit.HOURS),
+                resolutionTime(),
+                reconciledAt);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onComplaintEvent(ComplaintEvent event) {
+        Instant at = event.occurredAt();
+        if (event.type() == ComplaintEventType.SUBMITTED) {
+            byStatus[event.status().ordinal()]++;
+            byCategory[event.category().ordinal()]++;
+            bySeverity[event.severity().ordinal()]++;
+            bucket(daily, at.truncatedTo(ChronoUnit.DAYS))[0]++;
+            bucket(hourly, at.truncatedTo(ChronoUnit.HOURS))[0]++;
+            return;
+        }
+        if (event.previousStatus() != null) {
+            byStatus[event.previousStatus().ordinal()]--;
+        }
+        byStatus[event.status().ordinal()]++;
+        if (event.status() == ComplaintStatus.RESOLVED && event.previousStatus() != ComplaintStatus.RESOLVED) {
+            bucket(daily, at.truncatedTo(ChronoUnit.DAYS))[1]++;
+            bucket(hourly, at.truncatedTo(ChronoUnit.HOURS))[1]++;
+            if (event.createdAt() != null) {
+                resolutionHistogram[histogramIndex(Duration.between(event.createdAt(), at))]++;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the rollups that can still change (the previous and current day, and the hourly window) and reloads
+     * every counter from the database. The first run after startup rebuilds the whole series window. Events that
+     * commit while this runs may be counted twice or missed until the next run. Runs in this instance are serialized;
+     * a run in another instance that overlaps fails on the rollup unique key and is retried at its next interval.
+     */
+    @Scheduled(
+            initialDelayString = "${app.stats.initial-delay-ms:5000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            reconcile(false);
+        }
+    }
+
+    /**
+     * Rebuilds the whole series window, for bulk changes to historical rows that a regular reconcile would not see.
+     */
+    public void rebuild() {
+        synchronized (reconcileLock) {
+            reconcile(true);
+        }
+    }
+
+    /**
+     * Schedules {@link #rebuild()} in the background, so a caller whose own work has already committed is not failed
+     * by it. Requests made while one is still queued are folded into it.
+     */
+    public void requestRebuild() {
+        if (!rebuildRequested.compareAndSet(false, true)) {
+            return;
+        }
+        executor.submit(() -> {
+            rebuildRequested.set(false);
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                log.error("Complaint statistics rebuild failed", ex);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void reconcile(boolean full) {
+        Instant now = Instant.now();
+        Instant today = now.truncatedTo(ChronoUnit.DAYS);
+        Instant seriesStart = today.minus(seriesDays - 1, ChronoUnit.DAYS);
+        Instant hourlyStart = now.truncatedTo(ChronoUnit.HOURS).minus(hourlyBuckets - 1, ChronoUnit.HOURS);
+        Instant lastReconciled;
+        synchronized (this) {
+            lastReconciled = full ? null : reconciledAt;
+        }
+        Instant recomputeFrom = lastReconciled == null
+                ? seriesStart
+                : min(today.minus(1, ChronoUnit.DAYS), hourlyStart).truncatedTo(ChronoUnit.DAYS);
+
+        Instant hourlyFrom = max(recomputeFrom, hourlyStart);
+        State state = transactionTemplate.execute(status -> {
+            rollupRepository.deleteFrom(StatsGranularity.DAY, recomputeFrom);
+            rollupRepository.deleteFrom(StatsGranularity.HOUR, recomputeFrom);
+            rollupRepository.deleteBefore(StatsGranularity.HOUR, hourlyStart);
+            rollupRepository.saveAll(rollups(
+                    StatsGranularity.DAY,
+                    complaintRepository.countSubmittedByDay(recomputeFrom),
+                    statusEventRepository.countResolvedByDay(recomputeFrom, ComplaintStatus.RESOLVED)));
+            rollupRepository.saveAll(rollups(
+                    StatsGranularity.HOUR,
+                    complaintRepository.countSubmittedByHour(hourlyFrom),
+                    statusEventRepository.countResolvedByHour(hourlyFrom, ComplaintStatus.RESOLVED)));
+
+            State loaded = new State();
+            for (ComplaintCountRow row : complaintRepository.countByStatusCategorySeverity()) {
+                loaded.byStatus[row.status().ordinal()] += row.count();
+                loaded.byCategory[row.category().ordinal()] += row.count();
+                loaded.bySeverity[row.severity().ordinal()] += row.count();
+            }
+            loadSeries(loaded.daily, StatsGranularity.DAY, seriesStart);
+            loadSeries(loaded.hourly, StatsGranularity.HOUR, hourlyStart);
+            for (HistogramBucketRow row : statusEventRepository.resolutionHistogram(
+                    seriesStart, ComplaintStatus.RESOLVED)) {
+                int index = (int) Math.min(HISTOGRAM_BUCKETS - 1, Math.max(0, row.bucket().longValue()));
+                loaded.resolutionHistogram[index] += row.count();
+            }
+            return loaded;
+        });
+
+        synchronized (this) {
+            System.arraycopy(state.byStatus, 0, byStatus, 0, byStatus.length);
+            System.arraycopy(state.byCategory, 0, byCategory, 0, byCategory.length);
+            System.arraycopy(state.bySeverity, 0, bySeverity, 0, bySeverity.length);
+            daily.clear();
+            daily.putAll(state.daily);
+            hourly.clear();
+            hourly.putAll(state.hourly);
+            resolutionHistogram = state.resolutionHistogram;
+            reconciledAt = now;
+        }
+        log.debug("Reconciled complaint statistics from {}", recomputeFrom);
+    }
+
+    private static List<ComplaintStatsRollup> rollups(
+            StatsGranularity granularity, List<StatsBucketRow> submitted, List<StatsBucketRow> resolved) {
+        Map<RollupKey, ComplaintStatsRollup> rollups = new HashMap<>();
+        for (StatsBucketRow row : submitted) {
+            ComplaintStatsRollup rollup = rollup(rollups, granularity, row);
+            rollup.setSubmitted(rollup.getSubmitted() + row.count());
+        }
+        for (StatsBucketRow row : resolved) {
+            ComplaintStatsRollup rollup = rollup(rollups, granularity, row);
+            rollup.setResolved(rollup.getResolved() + row.count());
+        }
+        return new ArrayList<>(rollups.values());
+    }
+
+    private static ComplaintStatsRollup rollup(
+            Map<RollupKey, ComplaintStatsRollup> rollups, StatsGranularity granularity, StatsBucketRow row) {
+        return rollups.computeIfAbsent(
+                new RollupKey(row.bucketStart(), row.category(), row.severity()),
+                key -> ComplaintStatsRollup.builder()
+                        .granularity(granularity)
+                        .bucketStart(row.bucketStart())
+                        .category(row.category())
+                        .severity(row.severity())
+                        .build());
+    }
+
+    private void loadSeries(NavigableMap<Instant, long[]> series, StatsGranularity granularity, Instant from) {
+        for (ComplaintStatsRollup rollup : rollupRepository.findAllByGranularityAndBucketStartGreaterThanEqual(
+                granularity, from)) {
+            long[] counts = bucket(series, rollup.getBucketStart());
+            counts[0] += rollup.getSubmitted();
+            counts[1] += rollup.getResolved();
+        }
+    }
+
+    private ResolutionTimeStats resolutionTime() {
+        long resolved = 0;
+        for (long count : resolutionHistogram) {
+            resolved += count;
+        }
+        if (resolved == 0) {
+            return new ResolutionTimeStats(0, null, null, null);
+        }
+        return new ResolutionTimeStats(
+                resolved, percentile(resolved, 0.50), percentile(resolved, 0.90), percentile(resolved, 0.99));
+    }
+
+    private long percentile(long total, double quantile) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            seen += resolutionHistogram[i];
+            if (seen >= rank) {
+                return Math.round(Math.pow(HISTOGRAM_BASE, i + 1));
+            }
+        }
+        return Math.round(Math.pow(HISTOGRAM_BASE, HISTOGRAM_BUCKETS));
+    }
+
+    private static int histogramIndex(Duration duration) {
+        long seconds = duration.getSeconds();
+        if (seconds < 1) {
+            return 0;
+        }
+        return (int) Math.min(HISTOGRAM_BUCKETS - 1, Math.floor(Math.log(seconds) / Math.log(HISTOGRAM_BASE)));
+    }
+
+    private static List<ComplaintStatsBucket> series(
+            NavigableMap<Instant, long[]> buckets, Instant from, Instant to, ChronoUnit unit) {
+        List<ComplaintStatsBucket> series = new ArrayList<>();
+        for (Instant start = from; !start.isAfter(to); start = start.plus(1, unit)) {
+            long[] counts = buckets.get(start);
+            series.add(new ComplaintStatsBucket(start, counts != null ? counts[0] : 0, counts != null ? counts[1] : 0));
+        }
+        return series;
+    }
+
+    private static long[] bucket(NavigableMap<Instant, long[]> buckets, Instant start) {
+        return buckets.computeIfAbsent(start, ignored -> new long[2]);
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> toMap(long[] counts, Class<E> type) {
+        Map<E, Long> result = new EnumMap<>(type);
+        E[] constants = type.getEnumConstants();
+        for (int i = 0; i < counts.length; i++) {
+            result.put(constants[i], counts[i]);
+        }
+        return result;
+    }
+
+    private static Instant min(Instant left, Instant right) {
+        return left.isBefore(right) ? left : right;
+    }
+
+    private static Instant max(Instant left, Instant right) {
+        return left.isAfter(right) ? left : right;
+    }
+
+    private record RollupKey(Instant bucketStart, ComplaintCategory category, ComplaintSeverity severity) {
+    }
+
+    private static final class State {
+
+        private final long[] byStatus = new long[ComplaintStatus.values().length];
+        private final long[] byCategory = new long[ComplaintCategory.values().length];
+        private final long[] bySeverity = new long[ComplaintSeverity.values().length];
+        private final NavigableMap<Instant, long[]> daily = new TreeMap<>();
+        private final NavigableMap<Instant, long[]> hourly = new TreeMap<>();
+        private final long[] resolutionHistogram = new long[HISTOGRAM_BUCKETS];
+    }
+}
@@ -0,0 +1,265 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.event.ComplaintEvent;
+import com.citypulse.citypulse.geo.BoundingBox;
+import com.citypulse.citypulse.geo.GeoHash;
+import com.citypulse.citypulse.repository.ComplaintCursor;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.ComplaintRow;
+import com.citypulse.citypulse.repository.ComplaintSpecifications;
+import com.citypulse.citypulse.tx.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory index of recent open complaints used to spot repeat reports at submission time. Candidates are bucketed
+ * by geohash cell and compared on category, distance and a MinHash estimate of the text similarity, so a lookup
+ * touches a handful of entries and never the database. New complaints are indexed before their transaction commits,
+ * so repeats submitted at the same moment are still compared with each other.
+ */
+@Service
+public class DuplicateComplaintDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateComplaintDetector.class);
+
+    private static final int CELL_PRECISION = 6;
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int SIGNATURE_SIZE = 64;
+    private static final long MERSENNE_PRIME = (1L << 31) - 1;
+    private static final long[] HASH_A = new long[SIGNATURE_SIZE];
+    private static final long[] HASH_B = new long[SIGNATURE_SIZE];
+
+    static {
+        // Fixed seed so signatures stay comparable across restarts.
+        Random random = new Random(0x5eed);
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            HASH_A[i] = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+            HASH_B[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+    }
+
+    private final ComplaintRepository complaintRepository;
+    private final Map<Long, Candidate> candidates = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Candidate>> cells = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final double radiusMeters;
+    private final Duration window;
+    private final double similarityThreshold;
+    private final int maxIndexed;
+    private final Counter skippedCounter;
+    private boolean atCapacity;
+
+    public DuplicateComplaintDetector(
+            ComplaintRepository complaintRepository,
+            @Value("${app.duplicates.enabled:true}") boolean enabled,
+            @Value("${app.duplicates.radius-meters:150}") double radiusMeters,
+            @Value("${app.duplicates.window:P14D}") Duration window,
+            @Value("${app.duplicates.similarity-threshold:0.4}") double similarityThreshold,
+            @Value("${app.duplicates.max-indexed:100000}") int maxIndexed,
+            MeterRegistry meterRegistry) {
+        this.complaintRepository = complaintRepository;
+        this.enabled = enabled;
+        this.radiusMeters = radiusMeters;
+        this.window = window;
+        this.similarityThreshold = similarityThreshold;
+        this.maxIndexed = maxIndexed;
+        Gauge.builder("citypulse.duplicates.indexed", candidates, Map::size)
+                .description("Open complaints held in the duplicate detection index")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("citypulse.duplicates.index.skipped")
+                .description("Complaints left out of the duplicate detection index because it was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the id of an indexed complaint that the just-saved {@code complaint} most likely repeats. When there is
+     * none, the complaint is indexed as a canonical report right away rather than after commit, and dropped again if
+     * the transaction rolls back. Lookup and insert happen under one lock, so of two similar reports submitted
+     * concurrently the second is linked to the first.
+     */
+    public synchronized Optional<Long> claim(Complaint complaint) {
+        if (!enabled || complaint.getLatitude() == null || complaint.getLongitude() == null) {
+            return Optional.empty();
+        }
+        Optional<Long> canonical = findCanonical(complaint);
+        if (canonical.isEmpty() && index(complaint.getId(), complaint.getCategory(), complaint.getLatitude(),
+                complaint.getLongitude(), complaint.getCreatedAt(), complaint.getTitle(), complaint.getDescription())) {
+            Long id = complaint.getId();
+            TransactionCallbacks.onRollback(() -> remove(id));
+        }
+        return canonical;
+    }
+
+    private Optional<Long> findCanonical(Complaint complaint) {
+        double latitude = complaint.getLatitude().doubleValue();
+        double longitude = complaint.getLongitude().doubleValue();
+        int[] signature = signature(complaint.getTitle(), complaint.getDescription());
+        Instant since = Instant.now().minus(window);
+        Candidate best = null;
+        double bestSimilarity = similarityThreshold;
+        BoundingBox area = BoundingBox.around(latitude, longitude, radiusMeters);
+        for (String cell : GeoHash.cells(area, CELL_PRECISION)) {
+            Map<Long, Candidate> cellCandidates = cells.get(cell);
+            if (cellCandidates == null) {
+                continue;
+            }
+            for (Candidate candidate : cellCandidates.values()) {
+                if (candidate.id().equals(complaint.getId())
+                        || candidate.category() != complaint.getCategory()
+                        || candidate.createdAt().isBefore(since)
+                        || distanceMeters(latitude, longitude, candidate.latitude(), candidate.longitude()) > radiusMeters) {
+                    continue;
+                }
+                double similarity = similarity(signature, candidate.signature());
+                if (similarity >= bestSimilarity) {
+                    best = candidate;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return Optional.ofNullable(best).map(Candidate::id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentComplaints() {
+        if (!enabled) {
+            return;
+        }
+        Specification<Complaint> recent = ComplaintSpecifications.isOpen()
+                .and(ComplaintSpecifications.isCanonical())
+                .and(ComplaintSpecifications.createdBetween(Instant.now().minus(window), null));
+        for (ComplaintRow row : complaintRepository.findRows(recent, ComplaintCursor.SORT, maxIndexed)) {
+            index(row.id(), row.category(), row.latitude(), row.longitude(), row.createdAt(),
+                    row.title(), row.description());
+        }
+        log.info("Indexed {} recent complaints for duplicate detection", candidates.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onComplaintEvent(ComplaintEvent event) {
+        if (!enabled || event.duplicateOfId() != null) {
+            return;
+        }
+        if (event.status() == null || !event.status().isOpen()) {
+            remove(event.complaintId());
+        } else if (!candidates.containsKey(event.complaintId())) {
+            index(event.complaintId(), event.category(), event.latitude(), event.longitude(), event.createdAt(),
+                    event.title(), event.description());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.duplicates.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant since = Instant.now().minus(window);
+        candidates.values().stream()
+                .filter(candidate -> candidate.createdAt().isBefore(since))
+                .map(Candidate::id)
+                .toList()
+                .forEach(this::remove);
+    }
+
+    private synchronized boolean index(
+            Long id, ComplaintCategory category, BigDecimal latitude, BigDecimal longitude, Instant createdAt,
+            String title, String description) {
+        if (latitude == null || longitude == null) {
+            return false;
+        }
+        if (candidates.size() >= maxIndexed) {
+            skippedCounter.increment();
+            if (!atCapacity) {
+                atCapacity = true;
+                log.warn("Duplicate detection index is full ({} complaints); new reports are not indexed until older "
+                        + "ones expire or close. Raise app.duplicates.max-indexed to cover the window.", maxIndexed);
+            }
+            return false;
+        }
+        atCapacity = false;
+        String cell = GeoHash.encode(latitude.doubleValue(), longitude.doubleValue(), CELL_PRECISION);
+        Candidate candidate = new Candidate(
+                id, category, latitude.doubleValue(), longitude.doubleValue(),
+                createdAt != null ? createdAt : Instant.now(), cell, signature(title, description));
+        candidates.put(id, candidate);
+        cells.computeIfAbsent(cell, ignored -> new ConcurrentHashMap<>()).put(id, candidate);
+        return true;
+    }
+
+    private synchronized void remove(Long id) {
+        Candidate candidate = candidates.remove(id);
+        if (candidate != null) {
+            cells.computeIfPresent(candidate.cell(), (cell, cellCandidates) -> {
+                cellCandidates.remove(id);
+                return cellCandidates.isEmpty() ? null : cellCandidates;
+            });
+        }
+    }
+
+    private static int[] signature(String title, String description) {
+        String text = normalize((title != null ? title : "") + " " + (description != null ? description : ""));
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            String shingle = text.substring(start, Math.min(text.length(), start + SHINGLE_LENGTH));
+            long hash = shingle.hashCode() & 0x7fffffffL;
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int value = (int) ((HASH_A[i] * hash + HASH_B[i]) % MERSENNE_PRIME);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static double similarity(int[] left, int[] right) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (left[i] == right[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double x = Math.toRadians(lng2 - lng1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        double y = Math.toRadians(lat2 - lat1);
+        return Math.sqrt(x * x + y * y) * 6_371_008.8;
+    }
+
+    private record Candidate(
+            Long id,
+            ComplaintCategory category,
+            double latitude,
+            double longitude,
+            Instant createdAt,
+            String cell,
+            int[] signature) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.enums.ImageVariant;
+import com.citypulse.citypulse.storage.ImageStore;
+import com.citypulse.citypulse.storage.ImageVariantCache;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Generates resized JPEG variants of stored complaint images on a bounded worker pool. Variants are re-encoded from
+ * decoded pixels, so EXIF and other metadata from the original upload are never carried over.
+ */
+@Service
+public class ImageVariantService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final ImageStore imageStore;
+    private final ImageVariantCache variantCache;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImageVariantService(
+            ImageStore imageStore,
+            ImageVariantCache variantCache,
+            @Value("${app.images.variants.workers:2}") int workers,
+            @Value("${app.images.variants.queue-capacity:200}") int queueCapacity,
+            @Value("${app.images.variants.jpeg-quality:0.8}") float jpegQuality,
+            @Value("${app.images.max-pixels:40000000}") long maxPixels) {
+        this.imageStore = imageStore;
+        this.variantCache = variantCache;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void generateVariants(String key) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            requestVariant(key, variant);
+        }
+    }
+
+    /**
+     * Queues generation of a single variant unless it is already queued. When the pool is saturated the request is
+     * dropped; the next read of the variant queues it again.
+     */
+    public void requestVariant(String key, ImageVariant variant) {
+        String taskKey = key + ":" + variant.name();
+        if (!pending.add(taskKey)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (variantCache.load(key, variant).isEmpty()) {
+                        generate(key, variant);
+                    }
+                } catch (Exception ex) {
+                    log.warn("Failed to generate {} variant for image {}", variant, key, ex);
+                } finally {
+                    pending.remove(taskKey);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.remove(taskKey);
+            log.debug("Image variant queue full, skipping {} for {}", variant, key);
+        }
+    }
+
+    /**
+     * Reads only the image header and rejects images whose declared width times height exceeds the configured pixel
+     * budget. A few kilobytes of compressed data can declare dimensions whose decoded raster would not fit in the heap,
+     * so the byte size limit on uploads does not bound this. Formats ImageIO cannot read are let through; they are
+     * served as uploaded and never decoded.
+     */
+    public void checkDimensions(InputStream input) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            ImageReader reader = readerFor(stream);
+            if (reader == null) {
+                return;
+            }
+            try {
+                reader.setInput(stream, true, true);
+                checkPixelCount(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void generate(String key, ImageVariant variant) throws IOException {
+        Resource original = imageStore.load(key).orElse(null);
+        if (original == null) {
+            return;
+        }
+        BufferedImage source;
+        try (InputStream input = original.getInputStream()) {
+            source = decode(input);
+        }
+        if (source == null) {
+            log.debug("Image {} is not in a format ImageIO can decode; no variants generated", key);
+            return;
+        }
+        BufferedImage resized = resize(source, variant.getMaxDimension());
+        Path temp = variantCache.createTempFile();
+        try {
+            writeJpeg(resized, temp);
+            variantCache.put(key, variant, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private BufferedImage decode(InputStream input) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(input)) {
+            ImageReader reader = readerFor(stream);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                reader.setInput(stream, true, true);
+                checkPixelCount(reader.getWidth(0), reader.getHeight(0));
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ImageReader readerFor(ImageInputStream stream) {
+        if (stream == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+    private void checkPixelCount(int width, int height) {
+        if ((long) width * height > maxPixels) {
+            throw new IllegalArgumentException(
+                    "Image dimensions " + width + "x" + height + " exceed the limit of " + maxPixels + " pixels");
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG encoder available");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam params = writer.getDefaultWriteParam();
+        params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        params.setCompressionQuality(jpegQuality);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
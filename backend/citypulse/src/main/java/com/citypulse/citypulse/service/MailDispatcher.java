@@ -0,0 +1,150 @@
+package com.citypulse.citypulse.service;
+
+import com.citypulse.citypulse.entity.MailOutboxMessage;
+import com.citypulse.citypulse.enums.MailOutboxStatus;
+import com.citypulse.citypulse.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the mail outbox. Each batch is handed to {@link JavaMailSender#send(SimpleMailMessage...)}, which delivers
+ * the whole batch over a single SMTP connection. Failed messages are retried with exponential backoff until
+ * {@code app.mail.dispatcher.max-attempts} is reached.
+ */
+@Component
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    @Value("${app.mail.dispatcher.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.dispatcher.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.dispatcher.initial-backoff-ms:30000}")
+    private long initialBackoffMillis;
+
+    @Value("${app.mail.dispatcher.max-backoff-ms:3600000}")
+    private long maxBackoffMillis;
+
+    public MailDispatcher(
+            MailOutboxRepository mailOutboxRepository, JavaMailSender mailSender, MeterRegistry meterRegistry) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        Gauge.builder("citypulse.mail.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Outbox messages waiting to be delivered")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("citypulse.mail.outbox.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("citypulse.mail.outbox.failed")
+                .description("Messages that exhausted their retry attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.dispatcher.interval-ms:5000}")
+    public void dispatch() {
+        boolean drained = false;
+        while (!drained) {
+            List<MailOutboxMessage> batch = mailOutboxRepository.findAllByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                    MailOutboxStatus.PENDING, Instant.now(), PageRequest.of(0, batchSize));
+            // Stop early after a failing batch; the next run picks the queue up again once backoff has elapsed.
+            drained = batch.isEmpty() || !sendBatch(batch) || batch.size() < batchSize;
+        }
+        pendingCount.set(mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING));
+    }
+
+    private boolean sendBatch(List<MailOutboxMessage> batch) {
+        Map<SimpleMailMessage, MailOutboxMessage> byMessage = new IdentityHashMap<>();
+        for (MailOutboxMessage outboxMessage : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(outboxMessage.getRecipients().split(","));
+            message.setSubject(outboxMessage.getSubject());
+            message.setText(outboxMessage.getBody());
+            byMessage.put(message, outboxMessage);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(byMessage.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException ex) {
+            failures = ex.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = failAll(byMessage, ex);
+            }
+        } catch (MailException ex) {
+            failures = failAll(byMessage, ex);
+        }
+
+        Instant now = Instant.now();
+        for (Map.Entry<SimpleMailMessage, MailOutboxMessage> entry : byMessage.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                markSent(entry.getValue(), now);
+            } else {
+                markFailed(entry.getValue(), failure, now);
+            }
+        }
+        mailOutboxRepository.saveAll(batch);
+        return failures.isEmpty();
+    }
+
+    private Map<Object, Exception> failAll(Map<SimpleMailMessage, MailOutboxMessage> byMessage, Exception ex) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        byMessage.keySet().forEach(message -> failures.put(message, ex));
+        return failures;
+    }
+
+    private void markSent(MailOutboxMessage message, Instant now) {
+        message.setStatus(MailOutboxStatus.SENT);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setSentAt(now);
+        message.setLastError(null);
+        sentCounter.increment();
+    }
+
+    private void markFailed(MailOutboxMessage message, Exception failure, Instant now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            message.setStatus(MailOutboxStatus.FAILED);
+            failedCounter.increment();
+            log.warn("Giving up on outbox message {} after {} attempts: {}", message.getId(), attempts, failure.getMessage());
+            return;
+        }
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempts - 1, 20));
+        message.setNextAttemptAt(now.plus(Duration.ofMillis(backoff)));
+        log.debug("Outbox message {} failed (attempt {}), retrying in {} ms", message.getId(), attempts, backoff);
+    }
+
+    private String truncate(String value) {
+        if (value == null || value.length() <= MAX_ERROR_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
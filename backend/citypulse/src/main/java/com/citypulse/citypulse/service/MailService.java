@@ -1,24 +1,44 @@
 package com.citypulse.citypulse.service;
 
 import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.entity.MailOutboxMessage;
 import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.MailOutboxStatus;
+import com.citypulse.citypulse.repository.MailOutboxRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+/**
+ * Builds notification emails and writes them to the {@code mail_outbox} table in the caller's transaction.
+ * Delivery happens later in {@link MailDispatcher}, so request latency never depends on the SMTP server.
+ */
 @Service
 @RequiredArgsConstructor
 public class MailService {
 
-    private final JavaMailSender mailSender;
+    private static final Logger log = LoggerFactory.getLogger(MailService.class);
+
+    /** Matches the {@code mail_outbox.subject} column. */
+    static final int SUBJECT_MAX_LENGTH = 255;
+
+    private static final String STATUS_UPDATE_SUBJECT = "CityPulse — update on your complaint \"%s\"";
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     public void sendComplaintSubmissionEmail(Complaint complaint) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(resolveRecipients(complaint));
-            message.setSubject("CityPulse — we received your complaint");
+            String[] recipients = resolveRecipients(complaint);
+            String subject = "CityPulse — we received your complaint";
             String contactName = StringUtils.hasText(complaint.getContactName()) 
                     ? complaint.getContactName() 
                     : "Valued Citizen";
@@ -28,7 +48,7 @@ public class MailService {
                             "Lat/Lng: %.6f, %.6f",
                             complaint.getLatitude() != null ? complaint.getLatitude().doubleValue() : 0.0,
                             complaint.getLongitude() != null ? complaint.getLongitude().doubleValue() : 0.0);
-            message.setText("""
+            String body = """
                     Hi %s,
 
                     Thanks for letting us know about "%s". Our team will take a look and keep you posted on the next steps.
@@ -45,27 +65,83 @@ public class MailService {
                     complaint.getTitle(),
                     complaint.getCategory() != null ? complaint.getCategory().name() : "N/A",
                     complaint.getSeverity() != null ? complaint.getSeverity().name() : "N/A",
-                    location));
-            mailSender.send(message);
-        } catch (Exception ex) {
-            // Log error but don't fail the complaint submission
-            // In production, use a proper logger
-            System.err.println("Failed to send complaint submission email: " + ex.getMessage());
+                    location);
+            enqueue(recipients, subject, body);
+        } catch (IllegalArgumentException ex) {
+            // Don't fail the complaint submission over a missing address
+            log.warn("Skipping complaint submission email for complaint {}: {}", complaint.getId(), ex.getMessage());
+        }
+    }
+
+    public void sendDuplicateComplaintEmail(Complaint complaint) {
+        try {
+            String[] recipients = resolveRecipients(complaint);
+            String subject = "CityPulse — this issue has already been reported";
+            String contactName = StringUtils.hasText(complaint.getContactName())
+                    ? complaint.getContactName()
+                    : "Valued Citizen";
+            String body = """
+                    Hi %s,
+
+                    Thanks for reporting "%s". Another citizen recently reported what looks like the same issue
+                    (complaint #%d), so we have linked your report to it rather than opening a new case.
+
+                    You will receive the same status updates as that complaint while our team works on it.
+
+                    — CityPulse Team
+                    """.formatted(
+                    contactName,
+                    complaint.getTitle(),
+                    complaint.getDuplicateOfId());
+            enqueue(recipients, subject, body);
+        } catch (IllegalArgumentException ex) {
+            // Don't fail the complaint submission over a missing address
+            log.warn("Skipping duplicate complaint email for complaint {}: {}", complaint.getId(), ex.getMessage());
         }
     }
 
     public void sendStatusUpdateEmail(Complaint complaint, User updatedBy) {
+        statusUpdateMessage(complaint, updatedBy).ifPresent(mailOutboxRepository::save);
+    }
+
+    /**
+     * Queues one status update email per complaint with a single JDBC batch insert.
+     */
+    public void sendStatusUpdateEmails(List<Complaint> complaints, User updatedBy) {
+        List<MailOutboxMessage> messages = new ArrayList<>(complaints.size());
+        for (Complaint complaint : complaints) {
+            statusUpdateMessage(complaint, updatedBy).ifPresent(messages::add);
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(
+                "insert into mail_outbox (recipients, subject, body, status, attempts, next_attempt_at, created_at) "
+                        + "values (?, ?, ?, ?, 0, ?, ?)",
+                messages,
+                messages.size(),
+                (statement, message) -> {
+                    statement.setString(1, message.getRecipients());
+                    statement.setString(2, message.getSubject());
+                    statement.setString(3, message.getBody());
+                    statement.setString(4, message.getStatus().name());
+                    statement.setTimestamp(5, now);
+                    statement.setTimestamp(6, now);
+                });
+    }
+
+    private Optional<MailOutboxMessage> statusUpdateMessage(Complaint complaint, User updatedBy) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(resolveRecipients(complaint));
-            message.setSubject("CityPulse — update on your complaint \"" + complaint.getTitle() + "\"");
+            String[] recipients = resolveRecipients(complaint);
+            String subject = statusUpdateSubject(complaint.getTitle());
             String contactName = StringUtils.hasText(complaint.getContactName()) 
                     ? complaint.getContactName() 
                     : "Valued Citizen";
             String updatedByUsername = updatedBy != null && StringUtils.hasText(updatedBy.getUsername())
                     ? updatedBy.getUsername()
                     : "CityPulse Team";
-            message.setText("""
+            String body = """
                     Hi %s,
 
                     Your complaint "%s" has been updated to: %s.
@@ -82,15 +158,46 @@ public class MailService {
                     complaint.getTitle(),
                     complaint.getStatus() != null ? complaint.getStatus().name() : "N/A",
                     StringUtils.hasText(complaint.getStatusNotes()) ? complaint.getStatusNotes() : "No additional notes provided.",
-                    updatedByUsername));
-            mailSender.send(message);
-        } catch (Exception ex) {
-            // Log error but don't fail the status update
-            // In production, use a proper logger
-            System.err.println("Failed to send status update email: " + ex.getMessage());
+                    updatedByUsername);
+            return Optional.of(message(recipients, subject, body));
+        } catch (IllegalArgumentException ex) {
+            // Don't fail the status update over a missing address
+            log.warn("Skipping status update email for complaint {}: {}", complaint.getId(), ex.getMessage());
+            return Optional.empty();
         }
     }
 
+    /**
+     * Titles may use the whole title column, so the quoted title is shortened to keep the subject within its column;
+     * otherwise the outbox insert would fail the status change that queued it.
+     */
+    static String statusUpdateSubject(String title) {
+        String subject = STATUS_UPDATE_SUBJECT.formatted(title);
+        if (subject.length() <= SUBJECT_MAX_LENGTH) {
+            return subject;
+        }
+        int room = title.length() - (subject.length() - SUBJECT_MAX_LENGTH) - 1;
+        if (Character.isHighSurrogate(title.charAt(room - 1))) {
+            room--;
+        }
+        return STATUS_UPDATE_SUBJECT.formatted(title.substring(0, room) + "…");
+    }
+
+    private void enqueue(String[] recipients, String subject, String body) {
+        mailOutboxRepository.save(message(recipients, subject, body));
+    }
+
+    private static MailOutboxMessage message(String[] recipients, String subject, String body) {
+        return MailOutboxMessage.builder()
+                .recipients(String.join(",", recipients))
+                .subject(subject)
+                .body(body)
+                .status(MailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(Instant.now())
+                .build();
+    }
+
     private String[] resolveRecipients(Complaint complaint) {
         String contactEmail = complaint.getContactEmail();
         if (!StringUtils.hasText(contactEmail) && complaint.getUser() != null) {
@@ -1,11 +1,23 @@
 package com.citypulse.citypulse.service;
 
+import com.citypulse.citypulse.datasource.ReadYourWritesTracker;
+import com.citypulse.citypulse.datasource.ReplicaRoutingDataSource;
 import com.citypulse.citypulse.dto.RegisterRequest;
 import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.event.UserUpdatedEvent;
 import com.citypulse.citypulse.enums.Role;
 import com.citypulse.citypulse.repository.UserRepository;
+import com.citypulse.citypulse.security.FederatedPasswordEncoder;
+import com.citypulse.citypulse.security.TokenVersionService;
+import com.citypulse.citypulse.tx.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +27,15 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    // Only present when a read replica is configured.
+    private final ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    // Detached copies of recently active users; evicted whenever a profile is updated.
+    private final Cache<Long, User> userCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
 
     @Transactional
     public User registerUser(RegisterRequest request) {
@@ -28,7 +49,30 @@ public class UserService {
                 .role(Role.ROLE_USER)
                 .admin(false)
                 .build();
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        markWritten(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far, e.g. after a role change or a reported compromise.
+     */
+    @Transactional
+    public void revokeTokens(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        TransactionCallbacks.afterCommit(() -> {
+            tokenVersionService.evict(userId);
+            userCache.invalidate(userId);
+        });
+    }
+
+    /**
+     * Loads the authenticated user for a request. Read from the primary, like the token version, so a user who has
+     * only just registered is found.
+     */
+    public User getById(Long id) {
+        return userCache.get(id, key -> ReplicaRoutingDataSource.onPrimary(() -> userRepository.findById(key))
+                .orElseThrow(() -> new IllegalArgumentException("User not found for id: " + key)));
     }
 
     public User findByEmail(String email) {
@@ -38,23 +82,35 @@ public class UserService {
 
     @Transactional
     public User upsertAuth0User(String auth0UserId, String email, String name) {
-        return userRepository.findByAuth0ProviderId(auth0UserId)
+        User user = userRepository.findByAuth0ProviderId(auth0UserId)
                 .map(existing -> updateAuth0Details(existing, email, name))
                 .orElseGet(() -> createAuth0User(auth0UserId, email, name));
+        Long userId = user.getId();
+        TransactionCallbacks.afterCommit(() -> userCache.invalidate(userId));
+        markWritten(userId);
+        return user;
     }
 
     private User updateAuth0Details(User user, String email, String name) {
+        if (!email.equalsIgnoreCase(user.getEmail())) {
+            // Existing tokens carry the old email as their subject
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            Long userId = user.getId();
+            TransactionCallbacks.afterCommit(() -> tokenVersionService.evict(userId));
+        }
+        if (!Objects.equals(email, user.getEmail()) || !Objects.equals(name, user.getUsername())) {
+            eventPublisher.publishEvent(new UserUpdatedEvent(user.getId()));
+        }
         user.setEmail(email);
         user.setUsername(name);
         return userRepository.save(user);
     }
 
     private User createAuth0User(String auth0UserId, String email, String name) {
-        String randomPassword = generateRandomPassword();
         User user = User.builder()
                 .username(name)
                 .email(email)
-                .password(passwordEncoder.encode(randomPassword))
+                .password(FederatedPasswordEncoder.PASSWORD)
                 .role(Role.ROLE_USER)
                 .admin(false)
                 .auth0ProviderId(auth0UserId)
@@ -62,8 +118,12 @@ public class UserService {
         return userRepository.save(user);
     }
 
-    private String generateRandomPassword() {
-        return Long.toHexString(Double.doubleToLongBits(Math.random())) + Long.toHexString(System.nanoTime());
+    /**
+     * Keeps the user's reads on the primary for the stickiness window. Registration and the Auth0 login run before
+     * there is an authenticated user, so the routing data source cannot record these writes itself.
+     */
+    private void markWritten(Long userId) {
+        readYourWritesTracker.ifAvailable(
+                tracker -> TransactionCallbacks.afterCommit(() -> tracker.recordWrite(userId)));
     }
 }
-
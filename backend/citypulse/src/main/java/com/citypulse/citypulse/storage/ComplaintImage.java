@@ -0,0 +1,11 @@
+package com.citypulse.citypulse.storage;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * An image ready to be written to the response. {@code etag} is only set for images held in the {@link ImageStore};
+ * legacy LOB images are served without validators. {@code immutable} is false when a requested variant was not ready
+ * yet and the original is served in its place, so clients come back for the variant later.
+ */
+public record ComplaintImage(Resource resource, String contentType, String etag, boolean immutable) {
+}
@@ -0,0 +1,4 @@
+package com.citypulse.citypulse.storage;
+
+public record ComplaintImageRef(String key, String contentType) {
+}
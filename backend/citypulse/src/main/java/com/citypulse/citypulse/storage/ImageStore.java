@@ -0,0 +1,21 @@
+package com.citypulse.citypulse.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+
+/**
+ * Blob store for complaint photos. Images are addressed by the SHA-256 of their content, so the same
+ * upload is only ever stored once and a key never points at different bytes.
+ */
+public interface ImageStore {
+
+    StoredImage store(InputStream content) throws IOException;
+
+    Optional<Resource> load(String key);
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,132 @@
+package com.citypulse.citypulse.storage;
+
+import com.citypulse.citypulse.enums.ImageVariant;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * On-disk cache of resized image variants, bounded by total size. Entries are tracked in access order and the least
+ * recently served files are deleted once the cache grows past {@code app.images.variants.max-bytes}. Variants can
+ * always be regenerated from the original in the {@link ImageStore}.
+ */
+@Component
+public class ImageVariantCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantCache.class);
+
+    private final Path root;
+    private final long maxBytes;
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public ImageVariantCache(
+            @Value("${app.images.dir:data/images}") String imageDirectory,
+            @Value("${app.images.variants.max-bytes:536870912}") long maxBytes) {
+        this.root = Path.of(imageDirectory).toAbsolutePath().normalize().resolve("variants");
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(root);
+            for (ImageVariant variant : ImageVariant.values()) {
+                Files.createDirectories(variantDirectory(variant));
+            }
+            loadExistingEntries();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to initialise image variant cache at " + root, ex);
+        }
+    }
+
+    public Optional<Resource> load(String key, ImageVariant variant) {
+        Path path = resolve(key, variant);
+        synchronized (this) {
+            if (entries.get(path) == null) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new FileSystemResource(path));
+    }
+
+    /**
+     * Moves a fully written variant file into the cache and evicts older entries if the size budget is exceeded.
+     */
+    public void put(String key, ImageVariant variant, Path file) throws IOException {
+        Path destination = resolve(key, variant);
+        Files.move(file, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        long size = Files.size(destination);
+        List<Path> evicted;
+        synchronized (this) {
+            Long previous = entries.put(destination, size);
+            totalBytes += size - (previous != null ? previous : 0L);
+            evicted = evictIfNeeded();
+        }
+        // Deleted outside the monitor so file I/O never pins a virtual thread or blocks other lookups.
+        deleteAll(evicted);
+    }
+
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(root, "variant-", ".part");
+    }
+
+    private List<Path> evictIfNeeded() {
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Path, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            evicted.add(eldest.getKey());
+        }
+        return evicted;
+    }
+
+    private static void deleteAll(List<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                log.warn("Failed to evict image variant {}", path, ex);
+            }
+        }
+    }
+
+    private void loadExistingEntries() throws IOException {
+        for (ImageVariant variant : ImageVariant.values()) {
+            try (Stream<Path> files = Files.list(variantDirectory(variant))) {
+                files.filter(Files::isRegularFile).forEach(path -> {
+                    try {
+                        long size = Files.size(path);
+                        entries.put(path, size);
+                        totalBytes += size;
+                    } catch (IOException ex) {
+                        log.warn("Skipping unreadable image variant {}", path, ex);
+                    }
+                });
+            }
+        }
+        deleteAll(evictIfNeeded());
+    }
+
+    private Path variantDirectory(ImageVariant variant) {
+        return root.resolve(variant.name().toLowerCase(Locale.ROOT));
+    }
+
+    private Path resolve(String key, ImageVariant variant) {
+        return variantDirectory(variant).resolve(key + ".jpg");
+    }
+}
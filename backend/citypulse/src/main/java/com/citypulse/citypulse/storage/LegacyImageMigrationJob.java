@@ -0,0 +1,103 @@
+package com.citypulse.citypulse.storage;
+
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves images that were uploaded before the {@link ImageStore} existed out of the {@code complaints.image} LOB
+ * column. Rows are processed in id order, one transaction per batch, and the job can be interrupted and resumed
+ * safely. Each image is read as a bare column value and written back with an update query instead of through a
+ * managed {@code Complaint}, so the persistence context never keeps the bytes and only a single legacy image is in
+ * memory at a time.
+ */
+@Component
+public class LegacyImageMigrationJob implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyImageMigrationJob.class);
+
+    private final ComplaintRepository complaintRepository;
+    private final ImageStore imageStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "legacy-image-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${app.images.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.images.migration.batch-size:50}")
+    private int batchSize;
+
+    public LegacyImageMigrationJob(
+            ComplaintRepository complaintRepository,
+            ImageStore imageStore,
+            PlatformTransactionManager transactionManager) {
+        this.complaintRepository = complaintRepository;
+        this.imageStore = imageStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        if (enabled) {
+            executor.submit(this::migrateAll);
+        }
+    }
+
+    public int migrateAll() {
+        long lastId = 0L;
+        int migrated = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Long> ids = complaintRepository.findLegacyImageIdsAfter(lastId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer batchCount = transactionTemplate.execute(status -> migrateBatch(ids));
+            migrated += batchCount != null ? batchCount : 0;
+            lastId = ids.get(ids.size() - 1);
+        }
+        if (migrated > 0) {
+            log.info("Moved {} legacy complaint images into the image store", migrated);
+        }
+        return migrated;
+    }
+
+    private int migrateBatch(List<Long> ids) {
+        int migrated = 0;
+        for (Long id : ids) {
+            byte[] image = complaintRepository.findLegacyImageById(id).orElse(null);
+            if (image == null) {
+                continue;
+            }
+            try {
+                StoredImage storedImage = imageStore.store(new ByteArrayInputStream(image));
+                migrated += complaintRepository.moveLegacyImage(id, storedImage.key(), storedImage.size(), Instant.now());
+            } catch (IOException ex) {
+                log.warn("Failed to migrate image for complaint {}", id, ex);
+            }
+        }
+        return migrated;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
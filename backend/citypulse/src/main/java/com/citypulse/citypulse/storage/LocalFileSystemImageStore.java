@@ -0,0 +1,112 @@
+package com.citypulse.citypulse.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LocalFileSystemImageStore implements ImageStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final long TRANSFER_CHUNK_BYTES = 1024 * 1024;
+
+    private final Path root;
+    private final Path uploadDir;
+
+    public LocalFileSystemImageStore(@Value("${app.images.dir:data/images}") String directory) {
+        this.root = Path.of(directory).toAbsolutePath().normalize();
+        this.uploadDir = root.resolve("tmp");
+        try {
+            Files.createDirectories(uploadDir);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to create image directory " + root, ex);
+        }
+    }
+
+    @Override
+    public StoredImage store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path upload = Files.createTempFile(uploadDir, "upload-", ".part");
+        try {
+            long size;
+            try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(content, digest));
+                    FileChannel target = FileChannel.open(upload, StandardOpenOption.WRITE)) {
+                size = transfer(source, target);
+                target.force(false);
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path destination = resolve(key);
+            if (!Files.exists(destination)) {
+                Files.createDirectories(destination.getParent());
+                Files.move(upload, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredImage(key, size);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String key) {
+        if (!isValidKey(key)) {
+            return Optional.empty();
+        }
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Optional.of(new FileSystemResource(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return isValidKey(key) && Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (isValidKey(key)) {
+            Files.deleteIfExists(resolve(key));
+        }
+    }
+
+    private long transfer(ReadableByteChannel source, FileChannel target) throws IOException {
+        // transferFrom moves the upload through a small fixed-size buffer, so heap use does not grow with the file.
+        long position = 0;
+        long transferred;
+        while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK_BYTES)) > 0) {
+            position += transferred;
+        }
+        return position;
+    }
+
+    private Path resolve(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private boolean isValidKey(String key) {
+        return key != null && KEY_PATTERN.matcher(key).matches();
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.citypulse.citypulse.storage;
+
+public record StoredImage(String key, long size) {
+}
@@ -0,0 +1,146 @@
+package com.citypulse.citypulse.transfer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams the {@code complaints} table as CSV or NDJSON. Rows are read through a forward-only, read-only cursor with a
+ * fixed fetch size and written to the output one at a time, so memory use does not depend on the table size. On MySQL
+ * the connection URL needs {@code useCursorFetch=true} for the fetch size to take effect. The query runs in a read-only
+ * transaction, so it sees one snapshot and is served by the replica when one is configured.
+ */
+@Component
+public class ComplaintExporter {
+
+    private static final String SELECT = "select id, user_id, category, severity, status, title, description,"
+            + " contact_name, contact_phone, contact_email, address, latitude, longitude, status_notes,"
+            + " duplicate_of_id, created_at, updated_at from complaints";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter jsonWriter;
+
+    public ComplaintExporter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.transfer.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonWriter = objectMapper.writerFor(ComplaintRecord.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every complaint updated at or after {@code updatedSince} (all complaints when null) in id order.
+     */
+    public long export(TransferFormat format, Instant updatedSince, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long rows = switch (format) {
+            case CSV -> exportCsv(updatedSince, writer);
+            case NDJSON -> exportNdjson(updatedSince, writer);
+        };
+        writer.flush();
+        return rows;
+    }
+
+    private long exportCsv(Instant updatedSince, Writer writer) throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow(ComplaintRecord.COLUMNS);
+        return query(updatedSince, record -> csv.writeRow(record.toCsvValues()));
+    }
+
+    private long exportNdjson(Instant updatedSince, Writer writer) throws IOException {
+        try (JsonGenerator generator = jsonWriter.createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            long rows = query(updatedSince, record -> {
+                jsonWriter.writeValue(generator, record);
+                generator.writeRaw('\n');
+            });
+            generator.flush();
+            return rows;
+        }
+    }
+
+    private long query(Instant updatedSince, RecordSink sink) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        if (updatedSince != null) {
+            sql.append(" where updated_at >= ?");
+            args.add(Timestamp.from(updatedSince));
+        }
+        sql.append(" order by id");
+        long[] rows = {0L};
+        RowCallbackHandler handler = rs -> {
+            try {
+                sink.write(toRecord(rs));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            rows[0]++;
+        };
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> jdbcTemplate.query(sql.toString(), handler, args.toArray()));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return rows[0];
+    }
+
+    private static ComplaintRecord toRecord(ResultSet rs) throws SQLException {
+        return new ComplaintRecord(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getString("category"),
+                rs.getString("severity"),
+                rs.getString("status"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getString("contact_name"),
+                rs.getString("contact_phone"),
+                rs.getString("contact_email"),
+                rs.getString("address"),
+                rs.getObject("latitude", BigDecimal.class),
+                rs.getObject("longitude", BigDecimal.class),
+                rs.getString("status_notes"),
+                rs.getObject("duplicate_of_id", Long.class),
+                instant(rs.getTimestamp("created_at")),
+                instant(rs.getTimestamp("updated_at")));
+    }
+
+    private static Instant instant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    @FunctionalInterface
+    private interface RecordSink {
+        void write(ComplaintRecord record) throws IOException;
+    }
+}
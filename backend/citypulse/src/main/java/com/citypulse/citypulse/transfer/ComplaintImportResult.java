@@ -0,0 +1,5 @@
+package com.citypulse.citypulse.transfer;
+
+import java.util.List;
+
+public record ComplaintImportResult(long imported, long skipped, List<String> errors) {}
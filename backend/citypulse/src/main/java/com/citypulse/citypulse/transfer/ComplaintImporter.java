@@ -0,0 +1,301 @@
+package com.citypulse.citypulse.transfer;
+
+import com.citypulse.citypulse.entity.ComplaintStatusEvent;
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.geo.GeoHash;
+import com.citypulse.citypulse.repository.ComplaintStatusEventRepository;
+import com.citypulse.citypulse.search.ComplaintSearchIndex;
+import com.citypulse.citypulse.service.ComplaintClusterService;
+import com.citypulse.citypulse.service.ComplaintStatsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Inserts complaints from a CSV or NDJSON stream in JDBC batches of {@code app.transfer.batch-size}; only the
+ * current batch is held in memory. The whole import is one transaction. Every row is checked against the column
+ * limits before it is batched, and invalid rows (including unparseable CSV values or NDJSON lines) are skipped and
+ * reported by line. Imported complaints are attributed to the importing admin, get new ids and an initial
+ * {@code complaint_status_events} row, and do not trigger emails or events.
+ */
+@Component
+public class ComplaintImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintImporter.class);
+    private static final int MAX_REPORTED_ERRORS = 100;
+    // MySQL TEXT column capacity.
+    private static final int MAX_DESCRIPTION_BYTES = 65_535;
+    private static final String INSERT = "insert into complaints (user_id, category, severity, status, title,"
+            + " description, contact_name, contact_phone, contact_email, address, latitude, longitude, geohash,"
+            + " status_notes, status_changed_at, created_at, updated_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader jsonReader;
+    private final ComplaintStatsService complaintStatsService;
+    private final ComplaintClusterService complaintClusterService;
+    private final ComplaintSearchIndex complaintSearchIndex;
+    private final ComplaintStatusEventRepository statusEventRepository;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ComplaintImporter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            ComplaintStatsService complaintStatsService,
+            ComplaintClusterService complaintClusterService,
+            ComplaintSearchIndex complaintSearchIndex,
+            ComplaintStatusEventRepository statusEventRepository,
+            @Value("${app.transfer.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonReader = objectMapper.readerFor(ComplaintRecord.class);
+        this.complaintStatsService = complaintStatsService;
+        this.complaintClusterService = complaintClusterService;
+        this.complaintSearchIndex = complaintSearchIndex;
+        this.statusEventRepository = statusEventRepository;
+        this.batchSize = batchSize;
+    }
+
+    public ComplaintImportResult importComplaints(TransferFormat format, InputStream in, User admin) {
+        Batch batch = new Batch(admin);
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                switch (format) {
+                    case CSV -> readCsv(in, batch);
+                    case NDJSON -> readNdjson(in, batch);
+                }
+            } catch (IOException ex) {
+                throw new IllegalArgumentException("Could not read import: " + ex.getMessage(), ex);
+            }
+            batch.flush();
+        });
+        log.info("Imported {} complaints ({} rows skipped) by user {}", batch.imported, batch.skipped, admin.getId());
+        // The rows are committed; derived views are refreshed in the background so their failures cannot fail the import.
+        if (batch.imported > 0) {
+            complaintStatsService.requestRebuild();
+            complaintClusterService.evictAll();
+            complaintSearchIndex.requestRebuild();
+        }
+        return new ComplaintImportResult(batch.imported, batch.skipped, batch.errors);
+    }
+
+    private void readCsv(InputStream in, Batch batch) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        String[] header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        long line = csv.getLine();
+        String[] values;
+        while ((values = csv.readRecord()) != null) {
+            if (values.length == 1 && values[0].isEmpty()) {
+                line = csv.getLine();
+                continue;
+            }
+            try {
+                batch.add(line, ComplaintRecord.fromCsvValues(header, values));
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                batch.reject(line, "malformed value (" + ex.getMessage() + ")");
+            }
+            line = csv.getLine();
+        }
+    }
+
+    private void readNdjson(InputStream in, Batch batch) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long line = 0;
+        String json;
+        while ((json = reader.readLine()) != null) {
+            line++;
+            if (json.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(line, jsonReader.readValue(json));
+            } catch (JsonProcessingException ex) {
+                batch.reject(line, "invalid JSON (" + ex.getOriginalMessage() + ")");
+            }
+        }
+    }
+
+    private final class Batch {
+
+        private final User admin;
+        private final List<Row> rows = new ArrayList<>(batchSize);
+        private final List<String> errors = new ArrayList<>();
+        private long imported;
+        private long skipped;
+
+        private Batch(User admin) {
+            this.admin = admin;
+        }
+
+        void add(long line, ComplaintRecord record) {
+            Row row;
+            try {
+                row = toRow(record);
+            } catch (IllegalArgumentException ex) {
+                reject(line, ex.getMessage());
+                return;
+            }
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String reason) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + line + ": " + reason);
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            Object[] values = rows.get(i).values();
+                            for (int column = 0; column < values.length; column++) {
+                                StatementCreatorUtils.setParameterValue(
+                                        statement, column + 1, SqlTypeValue.TYPE_UNKNOWN, values[column]);
+                            }
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    },
+                    keys);
+            List<ComplaintStatusEvent> events = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                events.add(ComplaintStatusEvent.builder()
+                        .complaintId(((Number) keys.getKeyList().get(i).values().iterator().next()).longValue())
+                        .toStatus(row.status())
+                        .category(row.category())
+                        .notes(row.statusNotes())
+                        .changedBy(admin.getUsername())
+                        .occurredAt(row.statusChangedAt())
+                        .build());
+            }
+            statusEventRepository.saveAll(events);
+            // Write the events with this batch and drop them from the persistence context to keep memory flat.
+            entityManager.flush();
+            entityManager.clear();
+            imported += rows.size();
+            rows.clear();
+        }
+
+        private Row toRow(ComplaintRecord record) {
+            if (record.title() == null || record.title().isBlank()) {
+                throw new IllegalArgumentException("title is required");
+            }
+            checkLength("title", record.title(), 255);
+            checkLength("contact_name", record.contactName(), 150);
+            checkLength("contact_phone", record.contactPhone(), 50);
+            checkLength("contact_email", record.contactEmail(), 150);
+            checkLength("address", record.address(), 500);
+            checkLength("status_notes", record.statusNotes(), 500);
+            if (record.description() != null
+                    && record.description().getBytes(StandardCharsets.UTF_8).length > MAX_DESCRIPTION_BYTES) {
+                throw new IllegalArgumentException("description is longer than " + MAX_DESCRIPTION_BYTES + " bytes");
+            }
+            ComplaintCategory category = parse(ComplaintCategory.class, "category", record.category());
+            ComplaintSeverity severity = parse(ComplaintSeverity.class, "severity", record.severity());
+            ComplaintStatus status = record.status() != null
+                    ? parse(ComplaintStatus.class, "status", record.status())
+                    : ComplaintStatus.SUBMITTED;
+            String geohash = geohash(record.latitude(), record.longitude());
+            Instant createdAt = record.createdAt() != null ? record.createdAt() : Instant.now();
+            Instant updatedAt = record.updatedAt() != null ? record.updatedAt() : createdAt;
+            Object[] values = {
+                admin.getId(), category.name(), severity.name(), status.name(), record.title(),
+                record.description(), record.contactName(), record.contactPhone(), record.contactEmail(),
+                record.address(), record.latitude(), record.longitude(), geohash, record.statusNotes(),
+                Timestamp.from(updatedAt), Timestamp.from(createdAt), Timestamp.from(updatedAt)
+            };
+            return new Row(values, status, category, record.statusNotes(), updatedAt);
+        }
+    }
+
+    private record Row(
+            Object[] values, ComplaintStatus status, ComplaintCategory category, String statusNotes,
+            Instant statusChangedAt) {
+    }
+
+    private static void checkLength(String field, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String field, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        try {
+            return Enum.valueOf(type, value.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("unknown " + field + " '" + value + "'");
+        }
+    }
+
+    private static String geohash(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null && longitude == null) {
+            return null;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        double lat = latitude.doubleValue();
+        double lng = longitude.doubleValue();
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("coordinates out of range");
+        }
+        return GeoHash.encode(lat, lng, GeoHash.MAX_PRECISION);
+    }
+}
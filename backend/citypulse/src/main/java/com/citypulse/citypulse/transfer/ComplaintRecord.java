@@ -0,0 +1,96 @@
+package com.citypulse.citypulse.transfer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One complaint in the export/import interchange format. Enum-valued fields stay strings so that a bad value in an
+ * import is reported against its line instead of failing the whole stream.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ComplaintRecord(
+        Long id,
+        Long userId,
+        String category,
+        String severity,
+        String status,
+        String title,
+        String description,
+        String contactName,
+        String contactPhone,
+        String contactEmail,
+        String address,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        String statusNotes,
+        Long duplicateOfId,
+        Instant createdAt,
+        Instant updatedAt) {
+
+    static final String[] COLUMNS = {
+        "id", "user_id", "category", "severity", "status", "title", "description", "contact_name", "contact_phone",
+        "contact_email", "address", "latitude", "longitude", "status_notes", "duplicate_of_id", "created_at",
+        "updated_at"
+    };
+
+    /**
+     * Free-text cells that a spreadsheet would read as a formula (leading {@code =}, {@code +}, {@code -}, {@code @},
+     * tab or carriage return) are prefixed with an apostrophe, as is a leading apostrophe itself so that
+     * {@link #fromCsvValues} can strip exactly one and restore the original value.
+     */
+    String[] toCsvValues() {
+        return new String[] {
+            string(id), string(userId), category, severity, status, text(title), text(description), text(contactName),
+            text(contactPhone), text(contactEmail), text(address), string(latitude), string(longitude),
+            text(statusNotes), string(duplicateOfId), string(createdAt), string(updatedAt)
+        };
+    }
+
+    static ComplaintRecord fromCsvValues(String[] header, String[] values) {
+        String[] byColumn = new String[COLUMNS.length];
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            for (int column = 0; column < COLUMNS.length; column++) {
+                if (COLUMNS[column].equalsIgnoreCase(header[i].trim())) {
+                    byColumn[column] = values[i].isEmpty() ? null : values[i];
+                }
+            }
+        }
+        return new ComplaintRecord(
+                byColumn[0] != null ? Long.valueOf(byColumn[0]) : null,
+                byColumn[1] != null ? Long.valueOf(byColumn[1]) : null,
+                byColumn[2],
+                byColumn[3],
+                byColumn[4],
+                untext(byColumn[5]),
+                untext(byColumn[6]),
+                untext(byColumn[7]),
+                untext(byColumn[8]),
+                untext(byColumn[9]),
+                untext(byColumn[10]),
+                byColumn[11] != null ? new BigDecimal(byColumn[11]) : null,
+                byColumn[12] != null ? new BigDecimal(byColumn[12]) : null,
+                untext(byColumn[13]),
+                byColumn[14] != null ? Long.valueOf(byColumn[14]) : null,
+                byColumn[15] != null ? Instant.parse(byColumn[15]) : null,
+                byColumn[16] != null ? Instant.parse(byColumn[16]) : null);
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static String text(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        return switch (value.charAt(0)) {
+            case '=', '+', '-', '@', '\t', '\r', '\'' -> "'" + value;
+            default -> value;
+        };
+    }
+
+    private static String untext(String value) {
+        return value != null && value.startsWith("'") ? value.substring(1) : value;
+    }
+}
@@ -0,0 +1,32 @@
+package com.citypulse.citypulse.transfer;
+
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+public enum TransferFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(new MediaType("application", "x-ndjson"));
+
+    private final MediaType mediaType;
+
+    TransferFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String fileExtension() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static TransferFormat fromMediaType(MediaType mediaType) {
+        for (TransferFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + mediaType);
+    }
+}
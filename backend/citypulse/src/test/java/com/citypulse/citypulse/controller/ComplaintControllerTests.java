@@ -0,0 +1,145 @@
+package com.citypulse.citypulse.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.repository.UserRepository;
+import com.citypulse.citypulse.service.AuthService;
+import com.citypulse.citypulse.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ComplaintControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private AuthService authService;
+
+	@Test
+	void listingValidatorsArePerPageAndFollowReporterChanges() throws Exception {
+		String bearer = register("etag-lister@example.com");
+		for (int i = 1; i <= 3; i++) {
+			submit(bearer, i).andExpect(status().isCreated());
+		}
+
+		String firstPage = mockMvc.perform(get("/api/complaints").param("page", "0").param("size", "2")
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/complaints").param("page", "0").param("size", "2")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.header(HttpHeaders.IF_NONE_MATCH, firstPage))
+				.andExpect(status().isNotModified());
+
+		String secondPage = mockMvc.perform(get("/api/complaints").param("page", "1").param("size", "2")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.header(HttpHeaders.IF_NONE_MATCH, firstPage))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(secondPage).isNotEqualTo(firstPage);
+
+		// The reporter is embedded in every listed complaint, so renaming them must invalidate the listing.
+		User reporter = userRepository.findByEmail("etag-lister@example.com").orElseThrow();
+		reporter.setUsername("renamed-lister");
+		userRepository.save(reporter);
+
+		mockMvc.perform(get("/api/complaints").param("page", "0").param("size", "2")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.header(HttpHeaders.IF_NONE_MATCH, firstPage))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void complaintValidatorFollowsReporterChanges() throws Exception {
+		User reporter = userService.upsertAuth0User("auth0|etag-single", "etag-single@example.com", "Single Reporter");
+		String bearer = "Bearer " + authService.buildAuthResponse(reporter).token();
+		String created = submit(bearer, 1).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		String path = "/api/complaints/" + objectMapper.readTree(created).get("id").asLong();
+
+		String etag = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		// The cached response embeds the reporter, so a profile change must evict it and move the validator.
+		userService.upsertAuth0User("auth0|etag-single", "etag-single@example.com", "Renamed Reporter");
+
+		String renamed = mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, bearer)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.reporter.username").value("Renamed Reporter"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(renamed).isNotEqualTo(etag);
+	}
+
+	@Test
+	void eleventhSubmissionWithinAMinuteIsRateLimited() throws Exception {
+		String bearer = register("rate-limited@example.com");
+
+		for (int i = 1; i <= 10; i++) {
+			submit(bearer, i).andExpect(status().isCreated());
+		}
+
+		String retryAfter = submit(bearer, 11)
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+				.andReturn().getResponse().getHeader(HttpHeaders.RETRY_AFTER);
+		assertThat(Long.parseLong(retryAfter)).isPositive();
+	}
+
+	private ResultActions submit(String bearer, int n) throws Exception {
+		return mockMvc.perform(multipart("/api/complaints")
+				.param("category", "POTHOLE")
+				.param("severity", "MEDIUM")
+				.param("title", "Pothole number " + n)
+				.param("description", "Distinct report " + n + " for the rate limit test")
+				.param("contactName", "Asha")
+				.param("contactPhone", "0000000000")
+				.param("contactEmail", "asha@example.com")
+				.param("latitude", String.valueOf(12.90 + n * 0.01))
+				.param("longitude", "77.60")
+				.header(HttpHeaders.AUTHORIZATION, bearer));
+	}
+
+	private String register(String email) throws Exception {
+		String body = mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"username":"%s","email":"%s","password":"password123"}
+								""".formatted(email.substring(0, email.indexOf('@')), email)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return "Bearer " + objectMapper.readTree(body).get("token").asText();
+	}
+}
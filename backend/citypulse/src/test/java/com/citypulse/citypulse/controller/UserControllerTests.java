@@ -0,0 +1,50 @@
+package com.citypulse.citypulse.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void logoutEverywhereRejectsPreviouslyIssuedTokens() throws Exception {
+		String body = mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"username":"revoker","email":"revoker@example.com","password":"password123"}
+								"""))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		String bearer = "Bearer " + objectMapper.readTree(body).get("token").asText();
+
+		mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.email").value("revoker@example.com"));
+
+		mockMvc.perform(post("/api/users/me/logout-all").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isNoContent());
+
+		mockMvc.perform(get("/api/users/me").header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isUnauthorized());
+	}
+}
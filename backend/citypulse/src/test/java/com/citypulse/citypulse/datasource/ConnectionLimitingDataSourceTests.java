@@ -0,0 +1,46 @@
+package com.citypulse.citypulse.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class ConnectionLimitingDataSourceTests {
+
+	private final ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(
+			new DriverManagerDataSource("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1", "sa", ""), 1, Duration.ofMillis(50));
+
+	@Test
+	void waitsForPermitAndTimesOut() throws Exception {
+		try (Connection held = dataSource.getConnection()) {
+			assertThat(dataSource.getAvailablePermits()).isZero();
+			assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+		}
+		assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+	}
+
+	@Test
+	void closingTwiceReleasesOnePermit() throws Exception {
+		Connection connection = dataSource.getConnection();
+		connection.close();
+		connection.close();
+
+		assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+		try (Connection next = dataSource.getConnection()) {
+			assertThat(next.isValid(1)).isTrue();
+		}
+	}
+
+	@Test
+	void connectionIdentityIsTheProxys() throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			// Forwarded to the pooled connection, equals(proxy) compared it with the proxy and returned false.
+			assertThat(connection.equals(connection)).isTrue();
+			assertThat(connection.hashCode()).isEqualTo(System.identityHashCode(connection));
+		}
+	}
+}
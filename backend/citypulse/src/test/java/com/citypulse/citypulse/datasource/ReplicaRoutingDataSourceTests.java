@@ -0,0 +1,147 @@
+package com.citypulse.citypulse.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTests {
+
+	private ReadYourWritesTracker tracker;
+	private EntityManagerFactory entityManagerFactory;
+	private EntityManager entityManager;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		DataSource primary = database("primary");
+		DataSource replica = database("replica");
+		tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+		DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, tracker));
+		entityManagerFactory = entityManagerFactory(routing);
+		entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+		// The transaction manager the application runs with, so routing sees the read-only flag as it is set there.
+		JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		entityManagerFactory.close();
+	}
+
+	@Test
+	void readOnlyTransactionsUseReplica() {
+		assertThat(whoAmIReadOnly()).isEqualTo("replica");
+		assertThat(whoAmIReadWrite()).isEqualTo("primary");
+		assertThat(whoAmI()).isEqualTo("primary");
+	}
+
+	@Test
+	void userReadsFromPrimaryAfterCommittingWrite() {
+		authenticate(1L);
+		assertThat(whoAmIReadOnly()).isEqualTo("replica");
+
+		whoAmIReadWrite();
+
+		assertThat(whoAmIReadOnly()).isEqualTo("primary");
+		authenticate(2L);
+		assertThat(whoAmIReadOnly()).isEqualTo("replica");
+	}
+
+	@Test
+	void rolledBackWriteDoesNotMakeUserSticky() {
+		authenticate(1L);
+		readWrite.executeWithoutResult(status -> {
+			whoAmI();
+			status.setRollbackOnly();
+		});
+
+		assertThat(whoAmIReadOnly()).isEqualTo("replica");
+	}
+
+	@Test
+	void onPrimaryOverridesReadOnlyRouting() {
+		assertThat(ReplicaRoutingDataSource.onPrimary(this::whoAmIReadOnly)).isEqualTo("primary");
+		assertThat(ReplicaRoutingDataSource.onPrimary(() -> ReplicaRoutingDataSource.onPrimary(this::whoAmIReadOnly)))
+				.isEqualTo("primary");
+
+		assertThat(whoAmIReadOnly()).isEqualTo("replica");
+	}
+
+	@Test
+	void writeRecordedForAnonymousFlowMakesUserSticky() {
+		// Registration commits before the user has a token, so the write is recorded explicitly.
+		tracker.recordWrite(7L);
+
+		authenticate(7L);
+
+		assertThat(whoAmIReadOnly()).isEqualTo("primary");
+	}
+
+	private String whoAmIReadOnly() {
+		return readOnly.execute(status -> whoAmI());
+	}
+
+	private String whoAmIReadWrite() {
+		return readWrite.execute(status -> whoAmI());
+	}
+
+	private String whoAmI() {
+		return (String) entityManager.createNativeQuery("select name from whoami").getSingleResult();
+	}
+
+	private static EntityManagerFactory entityManagerFactory(DataSource dataSource) {
+		LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+		factory.setDataSource(dataSource);
+		// No entities are needed; native queries are enough to see which database answered.
+		factory.setPackagesToScan(ReplicaRoutingDataSourceTests.class.getPackageName());
+		factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factory.setJpaPropertyMap(Map.of(
+				AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect",
+				AvailableSettings.ALLOW_METADATA_ON_BOOT, "false",
+				AvailableSettings.CONNECTION_HANDLING,
+				PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION));
+		factory.afterPropertiesSet();
+		return factory.getObject();
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table if not exists whoami (name varchar(20))");
+		jdbcTemplate.update("delete from whoami");
+		jdbcTemplate.update("insert into whoami (name) values (?)", name);
+		return dataSource;
+	}
+
+	private static void authenticate(Long userId) {
+		UserPrincipal principal = UserPrincipal.fromClaims(userId, "u" + userId + "@example.com", null, false);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+}
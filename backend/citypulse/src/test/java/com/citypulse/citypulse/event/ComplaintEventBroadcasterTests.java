@@ -0,0 +1,245 @@
+package com.citypulse.citypulse.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ComplaintEventBroadcasterTests {
+
+	private static final ComplaintEventFilter EVERYTHING = new ComplaintEventFilter(null, null, null);
+
+	private ComplaintEventBroadcaster broadcaster;
+
+	@AfterEach
+	void close() {
+		if (broadcaster != null) {
+			broadcaster.destroy();
+		}
+	}
+
+	@Test
+	void resumingStreamReplaysOnlyEventsAfterTheLastEventId() throws Exception {
+		broadcaster = broadcaster(100, 16);
+		Stream live = subscribe(EVERYTHING, null);
+		for (long id = 1; id <= 3; id++) {
+			broadcaster.onComplaintEvent(submitted(id, ComplaintCategory.POTHOLE));
+		}
+		awaitUntil(() -> live.events.size() == 3);
+
+		Stream resumed = subscribe(EVERYTHING, live.events.get(0).id());
+		awaitUntil(() -> resumed.events.size() == 2);
+
+		assertThat(resumed.events).containsExactlyElementsOf(live.events.subList(1, 3));
+		assertThat(resumed.events).extracting(Sent::complaintId).containsExactly(2L, 3L);
+	}
+
+	@Test
+	void resumingPastTheRetainedHistoryStartsWithAReset() throws Exception {
+		broadcaster = broadcaster(2, 16);
+		Stream live = subscribe(EVERYTHING, null);
+		for (long id = 1; id <= 4; id++) {
+			broadcaster.onComplaintEvent(submitted(id, ComplaintCategory.POTHOLE));
+		}
+		awaitUntil(() -> live.events.size() == 4);
+
+		Stream resumed = subscribe(EVERYTHING, live.events.get(0).id());
+		awaitUntil(() -> resumed.events.size() == 3);
+
+		Sent reset = resumed.events.get(0);
+		assertThat(reset.name()).isEqualTo("RESET");
+		assertThat(reset.id()).isEqualTo(live.events.get(2).id() - 1);
+		assertThat(resumed.events.subList(1, 3)).containsExactlyElementsOf(live.events.subList(2, 4));
+	}
+
+	@Test
+	void overflowingSubscriberIsDisconnectedWithoutStallingThePublisher() throws Exception {
+		broadcaster = broadcaster(100, 2);
+		CountDownLatch unblock = new CountDownLatch(1);
+		Stream stalled = subscribe(EVERYTHING, null, unblock);
+		Stream healthy = subscribe(EVERYTHING, null);
+		try {
+			broadcaster.onComplaintEvent(submitted(1L, ComplaintCategory.POTHOLE));
+			awaitUntil(() -> stalled.events.size() == 1);
+
+			// A sender is now stuck writing to the stalled stream: two events fill its buffer, the third overflows.
+			// The healthy stream is allowed to keep up, so only the stalled one overflows.
+			assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+				for (int id = 2; id <= 4; id++) {
+					broadcaster.onComplaintEvent(submitted((long) id, ComplaintCategory.POTHOLE));
+					int delivered = id;
+					awaitUntil(() -> healthy.events.size() == delivered);
+				}
+			});
+			assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+		} finally {
+			unblock.countDown();
+		}
+
+		awaitUntil(() -> stalled.completed);
+		assertThat(stalled.events).extracting(Sent::complaintId).containsExactly(1L);
+		assertThat(healthy.completed).isFalse();
+	}
+
+	@Test
+	void subscribersOnlyReceiveEventsMatchingTheirFilter() throws Exception {
+		broadcaster = broadcaster(100, 16);
+		Stream potholes = subscribe(new ComplaintEventFilter(null, ComplaintCategory.POTHOLE, null), null);
+		Stream inProgress = subscribe(new ComplaintEventFilter(ComplaintStatus.IN_PROGRESS, null, null), null);
+
+		broadcaster.onComplaintEvent(submitted(1L, ComplaintCategory.POTHOLE));
+		broadcaster.onComplaintEvent(submitted(2L, ComplaintCategory.GARBAGE));
+		Complaint started = complaint(2L, ComplaintCategory.GARBAGE, ComplaintStatus.IN_PROGRESS);
+		broadcaster.onComplaintEvent(ComplaintEvent.statusChanged(started, ComplaintStatus.SUBMITTED));
+		// Leaving the filtered status is reported too, so the client can drop the complaint from its list.
+		Complaint resolved = complaint(2L, ComplaintCategory.GARBAGE, ComplaintStatus.RESOLVED);
+		broadcaster.onComplaintEvent(ComplaintEvent.statusChanged(resolved, ComplaintStatus.IN_PROGRESS));
+		broadcaster.onComplaintEvent(submitted(3L, ComplaintCategory.POTHOLE));
+		awaitUntil(() -> potholes.events.size() == 2 && inProgress.events.size() == 2);
+
+		assertThat(potholes.events).extracting(Sent::complaintId).containsExactly(1L, 3L);
+		assertThat(inProgress.events).extracting(Sent::name).containsExactly("STATUS_CHANGED", "STATUS_CHANGED");
+		assertThat(inProgress.events).extracting(Sent::status)
+				.containsExactly(ComplaintStatus.IN_PROGRESS, ComplaintStatus.RESOLVED);
+	}
+
+	private static ComplaintEventBroadcaster broadcaster(int historySize, int bufferSize) {
+		return new ComplaintEventBroadcaster(historySize, bufferSize, 100, 60_000, 3);
+	}
+
+	private Stream subscribe(ComplaintEventFilter filter, Long lastEventId) throws Exception {
+		return subscribe(filter, lastEventId, null);
+	}
+
+	private Stream subscribe(ComplaintEventFilter filter, Long lastEventId, CountDownLatch unblock) throws Exception {
+		Stream stream = new Stream(unblock);
+		stream.attach(broadcaster.subscribe(filter, lastEventId));
+		return stream;
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	private static ComplaintEvent submitted(Long id, ComplaintCategory category) {
+		return ComplaintEvent.submitted(complaint(id, category, ComplaintStatus.SUBMITTED));
+	}
+
+	private static Complaint complaint(Long id, ComplaintCategory category, ComplaintStatus status) {
+		return Complaint.builder()
+				.id(id)
+				.title("Complaint " + id)
+				.description("Reported by a resident")
+				.category(category)
+				.severity(ComplaintSeverity.MEDIUM)
+				.status(status)
+				.build();
+	}
+
+	private record Sent(long id, String name, ComplaintEvent event) {
+
+		Long complaintId() {
+			return event != null ? event.complaintId() : null;
+		}
+
+		ComplaintStatus status() {
+			return event != null ? event.status() : null;
+		}
+	}
+
+	/**
+	 * Stands in for the servlet response that Spring MVC attaches to a returned emitter, recording the events written
+	 * to it. With an {@code unblock} latch, writes wait for it like a client that has stopped reading.
+	 */
+	private static final class Stream implements InvocationHandler {
+
+		private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+		private static final Pattern NAME = Pattern.compile("^event:(\\w+)$", Pattern.MULTILINE);
+
+		final List<Sent> events = new CopyOnWriteArrayList<>();
+		volatile boolean completed;
+		private final CountDownLatch unblock;
+
+		Stream(CountDownLatch unblock) {
+			this.unblock = unblock;
+		}
+
+		void attach(SseEmitter emitter) throws Exception {
+			Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+			Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[] {handlerType}, this);
+			Method initialize = ResponseBodyEmitter.class.getDeclaredMethod("initialize", handlerType);
+			initialize.setAccessible(true);
+			initialize.invoke(emitter, handler);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "send" -> {
+					if (args[0] instanceof Set<?> items) {
+						record(items);
+					}
+					if (unblock != null) {
+						unblock.await();
+					}
+				}
+				case "complete", "completeWithError" -> completed = true;
+				case "hashCode" -> {
+					return System.identityHashCode(proxy);
+				}
+				case "equals" -> {
+					return proxy == args[0];
+				}
+				case "toString" -> {
+					return "recording stream";
+				}
+				default -> {
+					// Timeout, error and completion callbacks are never fired by this stand-in.
+				}
+			}
+			return null;
+		}
+
+		private void record(Set<?> items) {
+			StringBuilder text = new StringBuilder();
+			ComplaintEvent event = null;
+			for (Object item : items) {
+				Object data = ((ResponseBodyEmitter.DataWithMediaType) item).getData();
+				if (data instanceof ComplaintEvent complaintEvent) {
+					event = complaintEvent;
+				} else {
+					text.append(data);
+				}
+			}
+			Matcher id = ID.matcher(text);
+			Matcher name = NAME.matcher(text);
+			// Heartbeats are bare comments without an id.
+			if (id.find() && name.find()) {
+				events.add(new Sent(Long.parseLong(id.group(1)), name.group(1), event));
+			}
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.citypulse.citypulse.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GeoHashTests {
+
+	@Test
+	void encodesKnownPoint() {
+		assertThat(GeoHash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+	}
+
+	@Test
+	void coverContainsHashOfEveryPointInTheBox() {
+		BoundingBox box = new BoundingBox(12.90, 77.50, 13.05, 77.70);
+		List<String> cells = GeoHash.cover(box, 16);
+
+		assertThat(cells).hasSizeLessThanOrEqualTo(16);
+		for (double lat = box.minLatitude(); lat <= box.maxLatitude(); lat += 0.01) {
+			for (double lng = box.minLongitude(); lng <= box.maxLongitude(); lng += 0.01) {
+				String hash = GeoHash.encode(lat, lng, GeoHash.MAX_PRECISION);
+				assertThat(cells).anyMatch(hash::startsWith);
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.citypulse.citypulse.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class IdempotencyFilterTests {
+
+	private static final Duration LOCK_TTL = Duration.ofMillis(150);
+
+	private final AtomicInteger inserts = new AtomicInteger();
+
+	private final CountDownLatch handlerStarted = new CountDownLatch(1);
+
+	// Runs well past the lock TTL, like a slow multipart upload.
+	private final FilterChain slowCreate = (request, response) -> {
+		int id = inserts.incrementAndGet();
+		handlerStarted.countDown();
+		try {
+			Thread.sleep(LOCK_TTL.toMillis() * 4);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		HttpServletResponse http = (HttpServletResponse) response;
+		http.setStatus(HttpServletResponse.SC_CREATED);
+		http.setHeader(HttpHeaders.LOCATION, "/api/complaints/" + id);
+		http.setHeader(HttpHeaders.ETAG, "W/\"" + id + "-1\"");
+		http.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		http.getOutputStream().write(("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8));
+	};
+
+	private final IdempotencyFilter filter = new IdempotencyFilter(new InMemoryIdempotencyStore(100),
+			new ObjectMapper().findAndRegisterModules(), Duration.ofHours(1), LOCK_TTL, Duration.ofSeconds(5));
+
+	@AfterEach
+	void tearDown() {
+		filter.destroy();
+	}
+
+	@Test
+	void concurrentRetryWaitsPastTheLockTtlAndReplaysTheOriginalResponse() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<MockHttpServletResponse> original = executor.submit(() -> post("retry-1"));
+			assertThat(handlerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<MockHttpServletResponse> retry = executor.submit(() -> post("retry-1"));
+
+			MockHttpServletResponse first = original.get(10, TimeUnit.SECONDS);
+			MockHttpServletResponse second = retry.get(10, TimeUnit.SECONDS);
+
+			assertThat(inserts).hasValue(1);
+			assertThat(first.getStatus()).isEqualTo(201);
+			assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+			assertThat(second.getStatus()).isEqualTo(201);
+			assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+			assertThat(second.getHeader(HttpHeaders.LOCATION)).isEqualTo(first.getHeader(HttpHeaders.LOCATION));
+			assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(first.getHeader(HttpHeaders.ETAG));
+			assertThat(second.getContentType()).isEqualTo(first.getContentType());
+			assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void retryThatOutwaitsTheTimeoutGetsConflictInsteadOfRunningAgain() throws Exception {
+		IdempotencyFilter impatient = new IdempotencyFilter(new InMemoryIdempotencyStore(100),
+				new ObjectMapper().findAndRegisterModules(), Duration.ofHours(1), LOCK_TTL, LOCK_TTL);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<MockHttpServletResponse> original = executor.submit(() -> post(impatient, "retry-2"));
+			assertThat(handlerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			MockHttpServletResponse retry = post(impatient, "retry-2");
+
+			assertThat(retry.getStatus()).isEqualTo(409);
+			assertThat(retry.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+			assertThat(original.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+			assertThat(inserts).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+			impatient.destroy();
+		}
+	}
+
+	private MockHttpServletResponse post(String key) throws Exception {
+		return post(filter, key);
+	}
+
+	private MockHttpServletResponse post(IdempotencyFilter target, String key) throws Exception {
+		UserPrincipal principal = UserPrincipal.fromClaims(1L, "u1@example.com", null, false);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+		try {
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/complaints");
+			request.addHeader(IdempotencyFilter.HEADER, key);
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			target.doFilter(request, response, slowCreate);
+			return response;
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.citypulse.citypulse.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimitStoreTests {
+
+	private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, Duration.ofMinutes(1));
+
+	@Test
+	void allowsBurstUpToCapacityThenAsksToWait() {
+		RateLimitPolicy policy = new RateLimitPolicy("test", 3, Duration.ofMinutes(1), RateLimitPolicy.Scope.IP);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(store.tryAcquire("client", policy)).isZero();
+		}
+		Duration wait = store.tryAcquire("client", policy);
+
+		assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(20));
+		assertThat(store.tryAcquire("other-client", policy)).isZero();
+	}
+
+	@Test
+	void refillsOneTokenPerInterval() throws InterruptedException {
+		RateLimitPolicy policy = new RateLimitPolicy("test", 2, Duration.ofSeconds(1), RateLimitPolicy.Scope.IP);
+		store.tryAcquire("client", policy);
+		store.tryAcquire("client", policy);
+
+		assertThat(store.tryAcquire("client", policy)).isPositive();
+		Thread.sleep(600);
+
+		assertThat(store.tryAcquire("client", policy)).isZero();
+		assertThat(store.tryAcquire("client", policy)).isPositive();
+	}
+}
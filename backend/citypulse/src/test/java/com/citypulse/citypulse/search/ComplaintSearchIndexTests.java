@@ -0,0 +1,126 @@
+package com.citypulse.citypulse.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.event.ComplaintEvent;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.ComplaintSearchRow;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+class ComplaintSearchIndexTests {
+
+	// Stands in for the complaints table: rebuilds page through it by id.
+	private final TreeMap<Long, ComplaintSearchRow> table = new TreeMap<>();
+
+	private volatile boolean failAfterFirstPage;
+
+	private ComplaintSearchIndex index;
+
+	@AfterEach
+	void close() throws Exception {
+		if (index != null) {
+			index.destroy();
+		}
+	}
+
+	@Test
+	void searchReflectsCreatesUpdatesAndDeletes() throws Exception {
+		index = new ComplaintSearchIndex(repository(), "", 1);
+
+		Complaint pothole = complaint(1L, "Pothole on MG Road", ComplaintStatus.SUBMITTED);
+		save(pothole);
+		index.onComplaintEvent(ComplaintEvent.submitted(pothole));
+		assertThat(ids(index.search("pothole", null, null, null, true, 0, 10))).containsExactly(1L);
+
+		pothole.setTitle("Crater on MG Road");
+		pothole.setStatus(ComplaintStatus.IN_PROGRESS);
+		save(pothole);
+		index.onComplaintEvent(ComplaintEvent.statusChanged(pothole, ComplaintStatus.SUBMITTED));
+		assertThat(ids(index.search("pothole", null, null, null, true, 0, 10))).isEmpty();
+		assertThat(ids(index.search("crater", ComplaintStatus.SUBMITTED, null, null, true, 0, 10))).isEmpty();
+		assertThat(ids(index.search("crater", ComplaintStatus.IN_PROGRESS, null, null, true, 0, 10)))
+				.containsExactly(1L);
+
+		// Complaints are only ever removed behind the application's back, so a rebuild is what drops them.
+		table.remove(1L);
+		rebuild();
+		assertThat(ids(index.search("crater", null, null, null, true, 0, 10))).isEmpty();
+	}
+
+	@Test
+	void failedRebuildKeepsThePreviousIndexAndLaterUpdates() throws Exception {
+		index = new ComplaintSearchIndex(repository(), "", 1);
+		Complaint first = complaint(1L, "Broken streetlight", ComplaintStatus.SUBMITTED);
+		Complaint second = complaint(2L, "Broken water main", ComplaintStatus.SUBMITTED);
+		save(first);
+		save(second);
+		rebuild();
+		assertThat(ids(index.search("broken", null, null, null, true, 0, 10))).containsExactlyInAnyOrder(1L, 2L);
+
+		failAfterFirstPage = true;
+		rebuild();
+
+		Complaint third = complaint(3L, "Broken bench in the park", ComplaintStatus.SUBMITTED);
+		save(third);
+		index.onComplaintEvent(ComplaintEvent.submitted(third));
+		assertThat(ids(index.search("broken", null, null, null, true, 0, 10)))
+				.containsExactlyInAnyOrder(1L, 2L, 3L);
+	}
+
+	private void rebuild() throws InterruptedException {
+		assertThat(index.requestRebuild()).isTrue();
+		while (index.isRebuilding()) {
+			Thread.sleep(10);
+		}
+	}
+
+	private void save(Complaint complaint) {
+		table.put(complaint.getId(), new ComplaintSearchRow(complaint.getId(), complaint.getCategory(),
+				complaint.getSeverity(), complaint.getStatus(), complaint.getTitle(), complaint.getDescription(),
+				complaint.getAddress(), complaint.getDuplicateOfId()));
+	}
+
+	private ComplaintRepository repository() {
+		return (ComplaintRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] {ComplaintRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+					case "findSearchRowsAfter" -> {
+						Long afterId = (Long) args[0];
+						if (failAfterFirstPage && afterId > 0) {
+							throw new IllegalStateException("connection reset");
+						}
+						Map.Entry<Long, ComplaintSearchRow> next = table.higherEntry(afterId);
+						yield next == null ? List.of() : List.of(next.getValue());
+					}
+					case "count" -> (long) table.size();
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					case "toString" -> "ComplaintRepository stub";
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private static List<Long> ids(ComplaintSearchIndex.SearchResult result) {
+		return result.hits().stream().map(ComplaintSearchIndex.Hit::complaintId).toList();
+	}
+
+	private static Complaint complaint(Long id, String title, ComplaintStatus status) {
+		return Complaint.builder()
+				.id(id)
+				.title(title)
+				.description("Reported by a resident")
+				.category(ComplaintCategory.POTHOLE)
+				.severity(ComplaintSeverity.MEDIUM)
+				.status(status)
+				.build();
+	}
+}
@@ -0,0 +1,55 @@
+package com.citypulse.citypulse.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+class BoundedPasswordEncoderTests {
+
+	@Test
+	void rejectsHashesBeyondTheQueueCapacity() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		PasswordEncoder slow = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return "hashed";
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return true;
+			}
+		};
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, registry)) {
+			CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+			started.await();
+			CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+			while (registry.get("citypulse.password-hashing.queued").gauge().value() < 1) {
+				Thread.onSpinWait();
+			}
+
+			assertThatThrownBy(() -> encoder.encode("c"))
+					.isInstanceOfSatisfying(ResponseStatusException.class,
+							ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+			release.countDown();
+			assertThat(running.get()).isEqualTo("hashed");
+			assertThat(queued.get()).isEqualTo("hashed");
+			assertThat(registry.get("citypulse.password-hashing.rejected").counter().count()).isEqualTo(1);
+		}
+	}
+}
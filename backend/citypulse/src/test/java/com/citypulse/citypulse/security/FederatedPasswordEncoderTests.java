@@ -0,0 +1,24 @@
+package com.citypulse.citypulse.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class FederatedPasswordEncoderTests {
+
+	@Test
+	void encodesToTheUnmatchablePlaceholder() {
+		PasswordEncoder encoder = new DelegatingPasswordEncoder(FederatedPasswordEncoder.ID, Map.of(
+				FederatedPasswordEncoder.ID, new FederatedPasswordEncoder(), "bcrypt", new BCryptPasswordEncoder(4)));
+
+		String encoded = encoder.encode("anything");
+
+		assertThat(encoded).isEqualTo(FederatedPasswordEncoder.PASSWORD);
+		assertThat(encoder.matches("anything", encoded)).isFalse();
+		assertThat(encoder.matches("", encoded)).isFalse();
+	}
+}
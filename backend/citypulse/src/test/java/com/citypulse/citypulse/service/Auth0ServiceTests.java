@@ -0,0 +1,180 @@
+package com.citypulse.citypulse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.citypulse.citypulse.dto.AuthResponse;
+import com.citypulse.citypulse.repository.UserRepository;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class Auth0ServiceTests {
+
+	private static final String ISSUER = "https://citypulse-test.auth0.local/";
+	private static final RSAKey SIGNING_KEY = generateKey("test-key");
+	private static final RSAKey FORGED_KEY = generateKey("test-key");
+	private static final AtomicInteger jwksRequests = new AtomicInteger();
+	private static final AtomicInteger userInfoRequests = new AtomicInteger();
+	private static final HttpServer stub = startStub();
+
+	@Autowired
+	private Auth0Service auth0Service;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@DynamicPropertySource
+	static void auth0Properties(DynamicPropertyRegistry registry) {
+		registry.add("auth0.base-url", () -> "http://localhost:" + stub.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.stop(0);
+	}
+
+	@Test
+	void loginUsesVerifiedIdTokenWithoutUserInfo() {
+		int userInfoBefore = userInfoRequests.get();
+
+		AuthResponse first = auth0Service.handleCallback("alice");
+		AuthResponse second = auth0Service.handleCallback("alice");
+
+		assertThat(first.user().email()).isEqualTo("alice@example.com");
+		assertThat(second.user().id()).isEqualTo(first.user().id());
+		assertThat(userInfoRequests.get()).isEqualTo(userInfoBefore);
+		assertThat(jwksRequests.get()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentLoginsCreateOneUser() throws Exception {
+		int logins = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(logins);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<AuthResponse>> responses = new ArrayList<>();
+		try {
+			for (int i = 0; i < logins; i++) {
+				responses.add(executor.submit(() -> {
+					start.await();
+					return auth0Service.handleCallback("bob");
+				}));
+			}
+			start.countDown();
+			for (Future<AuthResponse> response : responses) {
+				assertThat(response.get().user().email()).isEqualTo("bob@example.com");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(userRepository.findByAuth0ProviderId("auth0|bob")).isPresent();
+	}
+
+	@Test
+	void rejectsIdTokenWithBadSignature() {
+		assertThatThrownBy(() -> auth0Service.handleCallback("forged"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(userRepository.findByAuth0ProviderId("auth0|forged")).isEmpty();
+	}
+
+	private static HttpServer startStub() {
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/oauth/token", Auth0ServiceTests::token);
+			server.createContext("/.well-known/jwks.json", exchange -> {
+				jwksRequests.incrementAndGet();
+				respond(exchange, new JWKSet(SIGNING_KEY.toPublicJWK()).toString());
+			});
+			server.createContext("/userinfo", exchange -> {
+				userInfoRequests.incrementAndGet();
+				respond(exchange, "{}");
+			});
+			server.setExecutor(Executors.newCachedThreadPool());
+			server.start();
+			return server;
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void token(HttpExchange exchange) throws IOException {
+		String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+		String code = "";
+		for (String pair : form.split("&")) {
+			if (pair.startsWith("code=")) {
+				code = URLDecoder.decode(pair.substring(5), StandardCharsets.UTF_8);
+			}
+		}
+		String idToken = idToken(code, code.equals("forged") ? FORGED_KEY : SIGNING_KEY);
+		respond(exchange, "{\"access_token\":\"access-" + code + "\",\"id_token\":\"" + idToken
+				+ "\",\"token_type\":\"Bearer\",\"expires_in\":86400}");
+	}
+
+	private static String idToken(String name, RSAKey key) {
+		Instant now = Instant.now();
+		JWTClaimsSet claims = new JWTClaimsSet.Builder()
+				.issuer(ISSUER)
+				.audience("test-client")
+				.subject("auth0|" + name)
+				.issueTime(Date.from(now))
+				.expirationTime(Date.from(now.plusSeconds(600)))
+				.claim("email", name + "@example.com")
+				.claim("email_verified", true)
+				.claim("name", name)
+				.build();
+		try {
+			SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+			jwt.sign(new RSASSASigner(key));
+			return jwt.serialize();
+		} catch (JOSEException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void respond(HttpExchange exchange, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, body.length);
+		exchange.getResponseBody().write(body);
+		exchange.close();
+	}
+
+	private static RSAKey generateKey(String keyId) {
+		try {
+			return new RSAKeyGenerator(2048).keyID(keyId).generate();
+		} catch (JOSEException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+}
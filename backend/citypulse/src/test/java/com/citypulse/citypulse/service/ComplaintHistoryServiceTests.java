@@ -0,0 +1,111 @@
+package com.citypulse.citypulse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.dto.StatusEventResponse;
+import com.citypulse.citypulse.dto.StatusTransitionSla;
+import com.citypulse.citypulse.dto.StatusUpdateRequest;
+import com.citypulse.citypulse.entity.ComplaintStatusEvent;
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.enums.Role;
+import com.citypulse.citypulse.repository.ComplaintStatusEventRepository;
+import com.citypulse.citypulse.repository.UserRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintHistoryServiceTests {
+
+	@Autowired
+	private ComplaintHistoryService historyService;
+
+	@Autowired
+	private ComplaintService complaintService;
+
+	@Autowired
+	private ComplaintStatusEventRepository statusEventRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void recordsSubmissionAndTransitionsInOrder() {
+		User reporter = user("reporter@history.test", false);
+		User admin = user("admin@history.test", true);
+		ComplaintResponse complaint = complaintService.submitComplaint(reporter, ComplaintServiceTests.request(
+				"Fallen tree on history lane", "A tree is blocking both lanes", 22.57260, 88.36390), null);
+		complaintService.updateStatus(complaint.id(), new StatusUpdateRequest(ComplaintStatus.IN_PROGRESS, "Crew sent"), admin);
+
+		List<StatusEventResponse> timeline = historyService.getTimeline(complaint.id());
+
+		assertThat(timeline).extracting(StatusEventResponse::toStatus)
+				.containsExactly(ComplaintStatus.SUBMITTED, ComplaintStatus.IN_PROGRESS);
+		assertThat(timeline.get(0).secondsInPrevious()).isNull();
+		assertThat(timeline.get(1).fromStatus()).isEqualTo(ComplaintStatus.SUBMITTED);
+		assertThat(timeline.get(1).secondsInPrevious()).isNotNull();
+	}
+
+	@Test
+	void computesTransitionPercentilesFromTheHistogram() {
+		Instant now = Instant.now();
+		List<ComplaintStatusEvent> events = new ArrayList<>();
+		for (long seconds = 1; seconds <= 1000; seconds++) {
+			events.add(event(ComplaintCategory.POTHOLE, seconds * 60, now));
+		}
+		events.add(event(ComplaintCategory.PARK, 86_400, now));
+		events.add(event(ComplaintCategory.PARK, 999_999, now.minus(30, ChronoUnit.DAYS)));
+		statusEventRepository.saveAll(events);
+
+		List<StatusTransitionSla> sla = historyService.getTransitionSla(
+				ComplaintStatus.REJECTED, ComplaintStatus.IN_PROGRESS, null, now.minus(1, ChronoUnit.DAYS));
+
+		StatusTransitionSla overall = sla.get(0);
+		assertThat(overall.category()).isNull();
+		assertThat(overall.transitions()).isEqualTo(1001);
+		assertThat(overall.p50Seconds()).isCloseTo(30_000L, within(3_000L));
+		assertThat(overall.p90Seconds()).isCloseTo(54_000L, within(5_400L));
+		assertThat(overall.maxSeconds()).isEqualTo(86_400);
+		assertThat(sla).extracting(StatusTransitionSla::category)
+				.containsExactlyInAnyOrder(null, ComplaintCategory.POTHOLE, ComplaintCategory.PARK);
+		StatusTransitionSla park = sla.stream().filter(row -> row.category() == ComplaintCategory.PARK).findFirst().orElseThrow();
+		assertThat(park.transitions()).isEqualTo(1);
+		assertThat(park.p50Seconds()).isEqualTo(86_400);
+
+		List<StatusTransitionSla> potholes = historyService.getTransitionSla(ComplaintStatus.REJECTED,
+				ComplaintStatus.IN_PROGRESS, ComplaintCategory.POTHOLE, now.minus(1, ChronoUnit.DAYS));
+		assertThat(potholes.get(0).transitions()).isEqualTo(1000);
+		assertThat(potholes.get(0).maxSeconds()).isEqualTo(60_000);
+	}
+
+	private static ComplaintStatusEvent event(ComplaintCategory category, long secondsInPrevious, Instant occurredAt) {
+		return ComplaintStatusEvent.builder()
+				.complaintId(-1L)
+				.fromStatus(ComplaintStatus.REJECTED)
+				.toStatus(ComplaintStatus.IN_PROGRESS)
+				.category(category)
+				.occurredAt(occurredAt)
+				.secondsInPrevious(secondsInPrevious)
+				.build();
+	}
+
+	private User user(String email, boolean isAdmin) {
+		return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(User.builder()
+				.username(email)
+				.email(email)
+				.password("{noop}unused")
+				.role(isAdmin ? Role.ROLE_ADMIN : Role.ROLE_USER)
+				.admin(isAdmin)
+				.build()));
+	}
+}
@@ -0,0 +1,156 @@
+package com.citypulse.citypulse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.dto.BulkStatusUpdateRequest;
+import com.citypulse.citypulse.dto.BulkStatusUpdateResponse;
+import com.citypulse.citypulse.dto.ComplaintRequest;
+import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.dto.StatusUpdateRequest;
+import com.citypulse.citypulse.entity.MailOutboxMessage;
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.enums.Role;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.MailOutboxRepository;
+import com.citypulse.citypulse.repository.UserRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintServiceTests {
+
+	@Autowired
+	private ComplaintService complaintService;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private User reporter;
+
+	private User admin;
+
+	@BeforeEach
+	void users() {
+		reporter = user("reporter@complaint-service.test", false);
+		admin = user("admin@complaint-service.test", true);
+	}
+
+	@Test
+	void linksRepeatReportsAndPropagatesStatusChanges() {
+		ComplaintResponse original = complaintService.submitComplaint(reporter, request(
+				"Streetlight out on 5th Cross", "The streetlight opposite house 42 on 5th Cross has been dark all week",
+				18.52040, 73.85670), null);
+		ComplaintResponse repeat = complaintService.submitComplaint(reporter, request(
+				"Streetlight out on 5th Cross", "Streetlight opposite house 42 on 5th Cross dark for a week now",
+				18.52045, 73.85675), null);
+
+		assertThat(original.duplicateOfId()).isNull();
+		assertThat(repeat.duplicateOfId()).isEqualTo(original.id());
+
+		complaintService.updateStatus(original.id(), new StatusUpdateRequest(ComplaintStatus.IN_PROGRESS, "Crew assigned"), admin);
+
+		assertThat(complaintRepository.findById(repeat.id()).orElseThrow())
+				.satisfies(duplicate -> {
+					assertThat(duplicate.getStatus()).isEqualTo(ComplaintStatus.IN_PROGRESS);
+					assertThat(duplicate.getStatusNotes()).isEqualTo("Crew assigned");
+				});
+	}
+
+	@Test
+	void repeatReportsAlreadyCarryingTheUpdateAreLeftAlone() {
+		ComplaintResponse original = complaintService.submitComplaint(reporter, request(
+				"Fallen tree on Lake Road", "A fallen tree is blocking both lanes of Lake Road near the temple",
+				12.97160, 77.59460), null);
+		ComplaintResponse repeat = complaintService.submitComplaint(reporter, request(
+				"Fallen tree on Lake Road", "Fallen tree blocking both lanes of Lake Road near the temple",
+				12.97165, 77.59465), null);
+		assertThat(repeat.duplicateOfId()).isEqualTo(original.id());
+		StatusUpdateRequest inProgress = new StatusUpdateRequest(ComplaintStatus.IN_PROGRESS, "Crew on the way");
+		complaintService.updateStatus(repeat.id(), inProgress, admin);
+
+		long outboxBefore = mailOutboxRepository.count();
+		complaintService.updateStatus(original.id(), inProgress, admin);
+		assertThat(mailOutboxRepository.count()).isEqualTo(outboxBefore + 1);
+
+		StatusUpdateRequest resolved = new StatusUpdateRequest(ComplaintStatus.RESOLVED, "Tree cleared");
+		complaintService.updateStatus(repeat.id(), resolved, admin);
+		BulkStatusUpdateResponse response = complaintService.bulkUpdateStatus(
+				new BulkStatusUpdateRequest(List.of(original.id()), resolved.status(), resolved.notes()), admin);
+
+		assertThat(response.updated()).isEqualTo(1);
+		assertThat(mailOutboxRepository.count()).isEqualTo(outboxBefore + 3);
+		assertThat(complaintRepository.findById(repeat.id()).orElseThrow().getStatus())
+				.isEqualTo(ComplaintStatus.RESOLVED);
+	}
+
+	@Test
+	void bulkStatusChangeQueuesOneEmailPerNotifiedComplaintInTheSameTransaction() {
+		ComplaintResponse first = complaintService.submitComplaint(reporter, request(
+				"Bulk update light A", "Light A near the bulk test depot is out", 19.07600, 72.87770), null);
+		ComplaintResponse second = complaintService.submitComplaint(reporter, new ComplaintRequest(
+				ComplaintCategory.GARBAGE, ComplaintSeverity.LOW, "Bulk update bins", "Bins not collected",
+				"Ravi", "8888888888", "ravi@example.com", null, 19.20000, 72.90000), null);
+		BulkStatusUpdateRequest request =
+				new BulkStatusUpdateRequest(List.of(first.id(), second.id()), ComplaintStatus.IN_PROGRESS, "Scheduled");
+
+		// A rolled back bulk update leaves neither the status change nor the queued emails behind.
+		long outboxBefore = mailOutboxRepository.count();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.executeWithoutResult(status -> {
+			complaintService.bulkUpdateStatus(request, admin);
+			assertThat(mailOutboxRepository.count()).isEqualTo(outboxBefore + 2);
+			status.setRollbackOnly();
+		});
+		assertThat(mailOutboxRepository.count()).isEqualTo(outboxBefore);
+		assertThat(complaintRepository.findById(first.id()).orElseThrow().getStatus()).isEqualTo(ComplaintStatus.SUBMITTED);
+
+		BulkStatusUpdateResponse response = complaintService.bulkUpdateStatus(request, admin);
+
+		assertThat(response.updated()).isEqualTo(2);
+		List<MailOutboxMessage> queued = mailOutboxRepository.findAll().stream()
+				.filter(message -> message.getSubject().contains("Bulk update"))
+				.toList();
+		assertThat(queued).extracting(MailOutboxMessage::getRecipients)
+				.containsExactlyInAnyOrder(
+						recipients(reporter, "asha@example.com"), recipients(reporter, "ravi@example.com"));
+		assertThat(queued).allSatisfy(message -> assertThat(message.getBody()).contains("IN_PROGRESS", "Scheduled"));
+	}
+
+	private static String recipients(User reporter, String contactEmail) {
+		return contactEmail + "," + reporter.getEmail();
+	}
+
+	private User user(String email, boolean isAdmin) {
+		return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(User.builder()
+				.username(email)
+				.email(email)
+				.password("{noop}unused")
+				.role(isAdmin ? Role.ROLE_ADMIN : Role.ROLE_USER)
+				.admin(isAdmin)
+				.build()));
+	}
+
+	static ComplaintRequest request(String title, String description, double latitude, double longitude) {
+		return new ComplaintRequest(ComplaintCategory.STREETLIGHT, ComplaintSeverity.MEDIUM, title, description,
+				"Asha", "9999999999", "asha@example.com", null, latitude, longitude);
+	}
+}
@@ -0,0 +1,117 @@
+package com.citypulse.citypulse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.dto.ComplaintStatsBucket;
+import com.citypulse.citypulse.dto.ComplaintStatsResponse;
+import com.citypulse.citypulse.dto.StatusUpdateRequest;
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.enums.Role;
+import com.citypulse.citypulse.repository.UserRepository;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintStatsServiceTests {
+
+	@Autowired
+	private ComplaintStatsService statsService;
+
+	@Autowired
+	private ComplaintService complaintService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void overlappingReconcilesDoNotCollideOnTheRollupKey() throws Exception {
+		User reporter = user("overlap@stats.test", false);
+		complaintService.submitComplaint(reporter, ComplaintServiceTests.request(
+				"Broken bench at overlap square", "Slats missing on the bench by the fountain", 19.07600, 72.87770), null);
+		CountDownLatch start = new CountDownLatch(1);
+		Callable<Void> rebuild = () -> {
+			start.await();
+			for (int i = 0; i < 5; i++) {
+				statsService.rebuild();
+			}
+			return null;
+		};
+		Callable<Void> reconcile = () -> {
+			start.await();
+			for (int i = 0; i < 5; i++) {
+				statsService.reconcile();
+			}
+			return null;
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			List<Future<Void>> runs = List.of(
+					executor.submit(rebuild), executor.submit(rebuild), executor.submit(reconcile));
+			start.countDown();
+			for (Future<Void> run : runs) {
+				run.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void incrementalCountersMatchTheReconciledRollups() {
+		User reporter = user("reporter@stats.test", false);
+		User admin = user("admin@stats.test", true);
+		statsService.rebuild();
+		ComplaintStatsResponse before = statsService.getStats(7);
+
+		ComplaintResponse complaint = complaintService.submitComplaint(reporter, ComplaintServiceTests.request(
+				"Flickering light near stats park", "Light pole 17 flickers all night", 28.61390, 77.20900), null);
+		complaintService.updateStatus(complaint.id(), new StatusUpdateRequest(ComplaintStatus.RESOLVED, null), admin);
+		complaintService.updateStatus(complaint.id(), new StatusUpdateRequest(ComplaintStatus.RESOLVED, "Bulb replaced"), admin);
+		complaintService.updateStatus(complaint.id(), new StatusUpdateRequest(ComplaintStatus.IN_PROGRESS, "Still flickering"), admin);
+		complaintService.updateStatus(complaint.id(), new StatusUpdateRequest(ComplaintStatus.RESOLVED, "Wiring fixed"), admin);
+		ComplaintStatsResponse incremental = statsService.getStats(7);
+
+		assertThat(incremental.total()).isEqualTo(before.total() + 1);
+		assertThat(incremental.byStatus().get(ComplaintStatus.RESOLVED))
+				.isEqualTo(before.byStatus().get(ComplaintStatus.RESOLVED) + 1);
+		// Two transitions into RESOLVED; the RESOLVED -> RESOLVED notes update is not a resolution.
+		assertThat(incremental.resolutionTime().resolved()).isEqualTo(before.resolutionTime().resolved() + 2);
+		assertThat(resolved(incremental.daily())).isEqualTo(resolved(before.daily()) + 2);
+
+		statsService.rebuild();
+		ComplaintStatsResponse reconciled = statsService.getStats(7);
+
+		assertThat(reconciled.total()).isEqualTo(incremental.total());
+		assertThat(reconciled.byStatus()).isEqualTo(incremental.byStatus());
+		assertThat(reconciled.byCategory()).isEqualTo(incremental.byCategory());
+		assertThat(reconciled.bySeverity()).isEqualTo(incremental.bySeverity());
+		assertThat(reconciled.daily()).isEqualTo(incremental.daily());
+		assertThat(reconciled.hourly()).isEqualTo(incremental.hourly());
+		assertThat(reconciled.resolutionTime()).isEqualTo(incremental.resolutionTime());
+	}
+
+	private static long resolved(List<ComplaintStatsBucket> buckets) {
+		return buckets.stream().mapToLong(ComplaintStatsBucket::resolved).sum();
+	}
+
+	private User user(String email, boolean isAdmin) {
+		return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(User.builder()
+				.username(email)
+				.email(email)
+				.password("{noop}unused")
+				.role(isAdmin ? Role.ROLE_ADMIN : Role.ROLE_USER)
+				.admin(isAdmin)
+				.build()));
+	}
+}
@@ -0,0 +1,111 @@
+package com.citypulse.citypulse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class DuplicateComplaintDetectorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void linksNearbySimilarReportsOfTheSameCategory() {
+		DuplicateComplaintDetector detector = detector(100);
+		Complaint original = complaint(1L, ComplaintCategory.POTHOLE, 12.97160, 77.59460,
+				"Large pothole on MG Road", "Deep pothole near the metro station entrance, cars swerving");
+		Complaint repeat = complaint(2L, ComplaintCategory.POTHOLE, 12.97170, 77.59470,
+				"Large pothole on MG Road", "Deep pothole near metro station entrance; cars are swerving");
+		Complaint otherCategory = complaint(3L, ComplaintCategory.STREETLIGHT, 12.97170, 77.59470,
+				"Large pothole on MG Road", "Deep pothole near metro station entrance; cars are swerving");
+		Complaint farAway = complaint(4L, ComplaintCategory.POTHOLE, 12.99000, 77.59470,
+				"Large pothole on MG Road", "Deep pothole near metro station entrance; cars are swerving");
+
+		assertThat(detector.claim(original)).isEmpty();
+		assertThat(detector.claim(repeat)).contains(1L);
+		assertThat(detector.claim(otherCategory)).isEmpty();
+		assertThat(detector.claim(farAway)).isEmpty();
+	}
+
+	@Test
+	void ignoresUnrelatedTextAtTheSameSpot() {
+		DuplicateComplaintDetector detector = detector(100);
+		detector.claim(complaint(1L, ComplaintCategory.GARBAGE, 12.9716, 77.5946,
+				"Overflowing bin", "Garbage bin outside the bakery has not been emptied for a week"));
+
+		assertThat(detector.claim(complaint(2L, ComplaintCategory.GARBAGE, 12.9716, 77.5946,
+				"Dumped furniture", "Someone left an old sofa and mattresses on the footpath"))).isEmpty();
+	}
+
+	@Test
+	void comparesReportsSubmittedConcurrently() throws Exception {
+		DuplicateComplaintDetector detector = detector(100);
+		int reports = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(reports);
+		try {
+			List<Future<Optional<Long>>> results = new ArrayList<>();
+			for (long id = 1; id <= reports; id++) {
+				Complaint complaint = complaint(id, ComplaintCategory.WATER, 12.9716, 77.5946,
+						"Burst water pipe", "Water main burst, street flooding near the school gate");
+				Callable<Optional<Long>> claim = () -> {
+					start.await();
+					return detector.claim(complaint);
+				};
+				results.add(executor.submit(claim));
+			}
+			start.countDown();
+			int canonical = 0;
+			for (Future<Optional<Long>> result : results) {
+				if (result.get().isEmpty()) {
+					canonical++;
+				}
+			}
+			assertThat(canonical).isEqualTo(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void countsComplaintsSkippedOnceTheIndexIsFull() {
+		DuplicateComplaintDetector detector = detector(1);
+		detector.claim(complaint(1L, ComplaintCategory.NOISE, 12.9716, 77.5946,
+				"Loud music", "Loud music every night from the hall until 2am"));
+		detector.claim(complaint(2L, ComplaintCategory.PARK, 12.9716, 77.5946,
+				"Broken swing", "Swing chain snapped in the children's park"));
+
+		assertThat(meterRegistry.get("citypulse.duplicates.index.skipped").counter().count()).isEqualTo(1.0);
+		assertThat(meterRegistry.get("citypulse.duplicates.indexed").gauge().value()).isEqualTo(1.0);
+		assertThat(detector.claim(complaint(3L, ComplaintCategory.PARK, 12.9716, 77.5946,
+				"Broken swing", "Swing chain snapped in the children's park"))).isEmpty();
+	}
+
+	private DuplicateComplaintDetector detector(int maxIndexed) {
+		return new DuplicateComplaintDetector(null, true, 150, Duration.ofDays(14), 0.4, maxIndexed, meterRegistry);
+	}
+
+	private static Complaint complaint(
+			Long id, ComplaintCategory category, double latitude, double longitude, String title, String description) {
+		Complaint complaint = new Complaint();
+		complaint.setId(id);
+		complaint.setCategory(category);
+		complaint.setLatitude(BigDecimal.valueOf(latitude));
+		complaint.setLongitude(BigDecimal.valueOf(longitude));
+		complaint.setTitle(title);
+		complaint.setDescription(description);
+		return complaint;
+	}
+}
@@ -0,0 +1,75 @@
+package com.citypulse.citypulse.service;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ImageVariantServiceTests {
+
+	private final ImageVariantService service = new ImageVariantService(null, null, 1, 1, 0.8f, 1_000_000);
+
+	@AfterEach
+	void shutdown() {
+		service.destroy();
+	}
+
+	@Test
+	void rejectsImagesDeclaringMorePixelsThanTheLimit() {
+		byte[] png = pngHeader(50_000, 50_000);
+
+		assertThatThrownBy(() -> service.checkDimensions(new ByteArrayInputStream(png)))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("50000x50000");
+	}
+
+	@Test
+	void acceptsImagesWithinTheLimit() throws IOException {
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), "png", png);
+
+		assertThatCode(() -> service.checkDimensions(new ByteArrayInputStream(png.toByteArray())))
+				.doesNotThrowAnyException();
+	}
+
+	@Test
+	void letsUndecodableFormatsThrough() {
+		byte[] notAnImage = "not an image".getBytes(StandardCharsets.US_ASCII);
+
+		assertThatCode(() -> service.checkDimensions(new ByteArrayInputStream(notAnImage)))
+				.doesNotThrowAnyException();
+	}
+
+	/** A PNG signature and IHDR chunk only; enough for a reader to report dimensions, nothing to decode. */
+	private static byte[] pngHeader(int width, int height) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+			ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+			DataOutputStream chunk = new DataOutputStream(ihdr);
+			chunk.writeBytes("IHDR");
+			chunk.writeInt(width);
+			chunk.writeInt(height);
+			chunk.write(new byte[] {8, 2, 0, 0, 0});
+			byte[] data = ihdr.toByteArray();
+			out.writeInt(data.length - 4);
+			out.write(data);
+			CRC32 crc = new CRC32();
+			crc.update(data);
+			out.writeInt((int) crc.getValue());
+			return bytes.toByteArray();
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+}
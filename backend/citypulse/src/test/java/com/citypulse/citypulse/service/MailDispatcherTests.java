@@ -0,0 +1,113 @@
+package com.citypulse.citypulse.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.entity.MailOutboxMessage;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.enums.MailOutboxStatus;
+import com.citypulse.citypulse.repository.MailOutboxRepository;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(properties = "app.mail.dispatcher.interval-ms=3600000")
+@ActiveProfiles("test")
+class MailDispatcherTests {
+
+	private static final GreenMail smtp = startSmtp();
+
+	@Autowired
+	private MailService mailService;
+
+	@Autowired
+	private MailDispatcher mailDispatcher;
+
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+
+	@DynamicPropertySource
+	static void mailProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", () -> smtp.getSmtp().getPort());
+	}
+
+	@AfterAll
+	static void stopSmtp() {
+		smtp.stop();
+	}
+
+	@BeforeEach
+	void reset() throws Exception {
+		mailDispatcher.dispatch();
+		smtp.purgeEmailFromAllMailboxes();
+	}
+
+	@Test
+	void deliversQueuedMessagesOverSmtpAndMarksThemSent() throws Exception {
+		Complaint complaint = new Complaint();
+		complaint.setTitle("Broken streetlight");
+		complaint.setContactName("Dana");
+		complaint.setContactEmail("dana@example.com");
+		complaint.setAddress("12 Main St");
+		complaint.setCategory(ComplaintCategory.values()[0]);
+		complaint.setSeverity(ComplaintSeverity.values()[0]);
+
+		mailService.sendComplaintSubmissionEmail(complaint);
+		List<MailOutboxMessage> queued = mailOutboxRepository.findAll().stream()
+				.filter(message -> message.getStatus() == MailOutboxStatus.PENDING)
+				.toList();
+		assertThat(queued).hasSize(1);
+		assertThat(smtp.getReceivedMessages()).isEmpty();
+
+		mailDispatcher.dispatch();
+
+		MimeMessage[] received = smtp.getReceivedMessages();
+		assertThat(received).hasSize(1);
+		assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("dana@example.com");
+		assertThat(received[0].getSubject()).isEqualTo("CityPulse — we received your complaint");
+		MailOutboxMessage sent = mailOutboxRepository.findById(queued.get(0).getId()).orElseThrow();
+		assertThat(sent.getStatus()).isEqualTo(MailOutboxStatus.SENT);
+		assertThat(sent.getAttempts()).isEqualTo(1);
+		assertThat(sent.getSentAt()).isNotNull();
+	}
+
+	@Test
+	void statusUpdatesForMaximumLengthTitlesFitTheSubjectColumn() throws Exception {
+		Complaint complaint = new Complaint();
+		complaint.setTitle("Pothole ".repeat(32).substring(0, 255));
+		complaint.setContactEmail("erin@example.com");
+		complaint.setStatus(ComplaintStatus.IN_PROGRESS);
+
+		// Both the single insert and the JDBC batch used by bulk updates must accept the message.
+		mailService.sendStatusUpdateEmail(complaint, null);
+		mailService.sendStatusUpdateEmails(List.of(complaint), null);
+		mailDispatcher.dispatch();
+
+		MimeMessage[] received = smtp.getReceivedMessages();
+		assertThat(received).hasSize(2);
+		for (MimeMessage message : received) {
+			assertThat(message.getSubject())
+					.hasSize(MailService.SUBJECT_MAX_LENGTH)
+					.startsWith("CityPulse — update on your complaint \"Pothole Pothole")
+					.endsWith("…\"");
+		}
+	}
+
+	private static GreenMail startSmtp() {
+		GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+		greenMail.start();
+		return greenMail;
+	}
+}
@@ -0,0 +1,80 @@
+package com.citypulse.citypulse.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.dto.ComplaintRequest;
+import com.citypulse.citypulse.dto.ComplaintResponse;
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.ComplaintCategory;
+import com.citypulse.citypulse.enums.ComplaintSeverity;
+import com.citypulse.citypulse.enums.Role;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.UserRepository;
+import com.citypulse.citypulse.service.ComplaintService;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(properties = {"app.images.migration.enabled=false", "app.images.migration.batch-size=2"})
+@ActiveProfiles("test")
+class LegacyImageMigrationJobTests {
+
+	@Autowired
+	private LegacyImageMigrationJob job;
+
+	@Autowired
+	private ComplaintService complaintService;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ImageStore imageStore;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void movesInlineImagesIntoTheImageStore() throws Exception {
+		User reporter = userRepository.findByEmail("legacy@image-migration.test").orElseGet(() -> userRepository.save(
+				User.builder()
+						.username("legacy-reporter")
+						.email("legacy@image-migration.test")
+						.password("{noop}unused")
+						.role(Role.ROLE_USER)
+						.build()));
+		long[] ids = new long[3];
+		for (int i = 0; i < ids.length; i++) {
+			ComplaintResponse complaint = complaintService.submitComplaint(reporter, new ComplaintRequest(
+					ComplaintCategory.GARBAGE, ComplaintSeverity.LOW, "Legacy upload " + i, "Uploaded before the store",
+					"Meera", "7777777777", "meera@example.com", null, 10.0 + i, 76.0), null);
+			ids[i] = complaint.id();
+			jdbcTemplate.update("update complaints set image = ?, image_key = null, image_size = null where id = ?",
+					("legacy image " + i).getBytes(StandardCharsets.UTF_8), ids[i]);
+		}
+		Timestamp updatedBefore = jdbcTemplate.queryForObject(
+				"select updated_at from complaints where id = ?", Timestamp.class, ids[0]);
+
+		assertThat(job.migrateAll()).isGreaterThanOrEqualTo(ids.length);
+		assertThat(job.migrateAll()).isZero();
+
+		for (int i = 0; i < ids.length; i++) {
+			ComplaintImageRef ref = complaintRepository.findImageRefById(ids[i]).orElseThrow();
+			Resource stored = imageStore.load(ref.key()).orElseThrow();
+			assertThat(stored.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("legacy image " + i);
+			assertThat(jdbcTemplate.queryForObject("select count(*) from complaints where id = ? and image is null",
+					Integer.class, ids[i])).isEqualTo(1);
+		}
+		// Cached responses are validated against updated_at, so moving the image has to advance it.
+		assertThat(jdbcTemplate.queryForObject("select updated_at from complaints where id = ?", Timestamp.class, ids[0]))
+				.isAfter(updatedBefore);
+	}
+}
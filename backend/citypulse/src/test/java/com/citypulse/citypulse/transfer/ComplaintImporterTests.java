@@ -0,0 +1,137 @@
+package com.citypulse.citypulse.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.citypulse.citypulse.entity.Complaint;
+import com.citypulse.citypulse.entity.User;
+import com.citypulse.citypulse.enums.ComplaintStatus;
+import com.citypulse.citypulse.enums.Role;
+import com.citypulse.citypulse.repository.ComplaintRepository;
+import com.citypulse.citypulse.repository.ComplaintStatusEventRepository;
+import com.citypulse.citypulse.repository.UserRepository;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ComplaintImporterTests {
+
+	private static final String HEADER = "category,severity,status,title,contact_name,contact_phone,latitude,longitude\n";
+
+	@Autowired
+	private ComplaintImporter importer;
+
+	@Autowired
+	private ComplaintExporter exporter;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private ComplaintStatusEventRepository statusEventRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private User admin;
+
+	@BeforeEach
+	void admin() {
+		admin = userRepository.findByEmail("admin@import.test").orElseGet(() -> userRepository.save(User.builder()
+				.username("importer")
+				.email("admin@import.test")
+				.password("{noop}unused")
+				.role(Role.ROLE_ADMIN)
+				.admin(true)
+				.build()));
+	}
+
+	@Test
+	void importsValidRowsAndReportsInvalidOnesByLine() {
+		String csv = HEADER
+				+ "POTHOLE,HIGH,RESOLVED,Imported pothole,Meera,555-0100,12.9,77.6\n"
+				+ "SINKHOLE,HIGH,SUBMITTED,Unknown category,Meera,555-0100,12.9,77.6\n"
+				+ "WATER,LOW,SUBMITTED,Oversized phone,Meera," + "9".repeat(51) + ",12.9,77.6\n"
+				+ "WATER,LOW,SUBMITTED,Bad latitude,Meera,555-0100,north,77.6\n";
+
+		ComplaintImportResult result = importCsv(csv);
+
+		assertThat(result.imported()).isEqualTo(1);
+		assertThat(result.skipped()).isEqualTo(3);
+		assertThat(result.errors()).hasSize(3);
+		assertThat(result.errors().get(0)).startsWith("line 3:").contains("category");
+		assertThat(result.errors().get(1)).startsWith("line 4:").contains("contact_phone");
+		assertThat(result.errors().get(2)).startsWith("line 5:");
+		Complaint imported = importedByTitle("Imported pothole");
+		assertThat(imported.getStatus()).isEqualTo(ComplaintStatus.RESOLVED);
+		assertThat(statusEventRepository.findAllByComplaintIdOrderByOccurredAtAscIdAsc(imported.getId()))
+				.singleElement()
+				.satisfies(event -> {
+					assertThat(event.getFromStatus()).isNull();
+					assertThat(event.getToStatus()).isEqualTo(ComplaintStatus.RESOLVED);
+					assertThat(event.getChangedBy()).isEqualTo("importer");
+				});
+	}
+
+	@Test
+	void reportsMalformedNdjsonLinesWithoutAbortingTheImport() {
+		String ndjson = """
+				{"category":"PARK","severity":"LOW","title":"Imported park bench"}
+				{"category":"PARK","severity":"LOW","title":"Bad coordinates","latitude":"north"}
+				{"category":"PARK",
+				{"category":"PARK","severity":"LOW","title":"Long address","address":"%s"}
+				""".formatted("x".repeat(501));
+
+		ComplaintImportResult result = importer.importComplaints(TransferFormat.NDJSON,
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), admin);
+
+		assertThat(result.imported()).isEqualTo(1);
+		assertThat(result.errors()).hasSize(3);
+		assertThat(result.errors()).extracting(error -> error.substring(0, error.indexOf(':')))
+				.containsExactly("line 2", "line 3", "line 4");
+		assertThat(result.errors().get(2)).contains("address");
+	}
+
+	@Test
+	void neutralizesFormulaCellsOnExportAndRestoresThemOnImport() throws Exception {
+		importCsv(HEADER + "NOISE,LOW,SUBMITTED,\"=HYPERLINK(\"\"http://evil\"\")\",@Meera,+91 555 0100,,\n");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exporter.export(TransferFormat.CSV, Instant.now().minusSeconds(60), out);
+		String exported = out.toString(StandardCharsets.UTF_8);
+
+		assertThat(exported).contains("\"'=HYPERLINK(\"\"http://evil\"\")\"", "'@Meera", "'+91 555 0100");
+		assertThat(exported).doesNotContain(",=HYPERLINK", ",@Meera", ",+91");
+
+		importer.importComplaints(TransferFormat.CSV,
+				new ByteArrayInputStream(exported.getBytes(StandardCharsets.UTF_8)), admin);
+		List<Complaint> roundTripped = complaintRepository.findAll().stream()
+				.filter(complaint -> "=HYPERLINK(\"http://evil\")".equals(complaint.getTitle()))
+				.toList();
+		assertThat(roundTripped).hasSizeGreaterThanOrEqualTo(2)
+				.allSatisfy(complaint -> {
+					assertThat(complaint.getContactName()).isEqualTo("@Meera");
+					assertThat(complaint.getContactPhone()).isEqualTo("+91 555 0100");
+				});
+	}
+
+	private ComplaintImportResult importCsv(String csv) {
+		return importer.importComplaints(
+				TransferFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), admin);
+	}
+
+	private Complaint importedByTitle(String title) {
+		return complaintRepository.findAll().stream()
+				.filter(complaint -> title.equals(complaint.getTitle()))
+				.findFirst()
+				.orElseThrow();
+	}
+}